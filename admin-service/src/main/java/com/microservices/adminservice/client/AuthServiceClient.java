@@ -1,51 +1,292 @@
 package com.microservices.adminservice.client;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.microservices.adminservice.config.AuthServiceProperties;
 import com.microservices.adminservice.dto.ValidateTokenRequest;
 import com.microservices.adminservice.dto.ValidateTokenResponse;
+import com.microservices.adminservice.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
+/**
+ * Validates tokens with Auth Service over the pooled client from
+ * {@code RestTemplateConfig}. Results are reused from the
+ * {@link ValidationResultCache} while they are fresh, and concurrent misses
+ * for the same token share one remote call (single flight): the first caller
+ * makes it, the others wait for its result or its exception. Calls in flight
+ * are keyed by the token's SHA-256 {@link TokenKey}, like the cache. Remote
+ * calls pass a bulkhead (bounded concurrency) and a {@link CircuitBreaker};
+ * when either rejects, or the call itself fails, a
+ * {@link ServiceUnavailableException} is thrown so requests fail fast with
+ * 503 instead of waiting on a struggling Auth Service.
+ * <p>
+ * Metrics: {@code auth.client.calls{outcome}}, {@code auth.client.duration},
+ * {@code auth.client.singleflight{role=leader|follower}} and its
+ * {@code auth.client.singleflight.ratio} (share of callers that joined a call),
+ * {@code auth.client.bulkhead.active}/{@code .available} and
+ * {@code auth.client.circuit.state} (0 closed, 1 half-open, 2 open).
+ */
 @Component
 public class AuthServiceClient {
 
     private static final Logger log = LoggerFactory.getLogger(AuthServiceClient.class);
 
+    private static final MediaType FRAME = MediaType.parseMediaType(ValidationWire.CONTENT_TYPE);
+
     private final RestTemplate restTemplate;
+    private final ValidationResultCache cache;
+    private final ConcurrentHashMap<TokenKey, CompletableFuture<ValidateTokenResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    private final String validateUrl;
+    private final String validateBinaryUrl;
+    private final String invalidateUrl;
+    private final boolean binary;
 
-    public AuthServiceClient(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitMillis;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter bulkheadFull;
+    private final Counter circuitOpen;
+    private final Timer duration;
+    private final Counter leaders;
+    private final Counter followers;
+
+    @Autowired
+    public AuthServiceClient(RestTemplate restTemplate, ValidationResultCache cache,
+                             AuthServiceProperties properties, MeterRegistry registry) {
+        this(restTemplate, cache, properties, registry, System::currentTimeMillis);
     }
 
-    @Value("${auth-service.url}")
-    private String authServiceUrl;
+    AuthServiceClient(RestTemplate restTemplate, ValidationResultCache cache,
+                      AuthServiceProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.restTemplate = restTemplate;
+        this.cache = cache;
+        this.validateUrl = properties.getUrl() + properties.getValidateEndpoint();
+        this.validateBinaryUrl = properties.getUrl() + properties.getValidateBinaryEndpoint();
+        this.invalidateUrl = properties.getUrl() + properties.getInvalidateEndpoint();
+        this.binary = "binary".equalsIgnoreCase(properties.getProtocol());
+
+        int maxConcurrentCalls = properties.getBulkhead().getMaxConcurrentCalls();
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.bulkheadWaitMillis = properties.getBulkhead().getMaxWait();
+        this.circuitBreaker = new CircuitBreaker(properties.getCircuitBreaker(), clock);
 
-    @Value("${auth-service.validate-endpoint}")
-    private String validateEndpoint;
+        this.succeeded = outcome(registry, "success");
+        this.failed = outcome(registry, "failure");
+        this.bulkheadFull = outcome(registry, "bulkhead_full");
+        this.circuitOpen = outcome(registry, "circuit_open");
+        this.duration = Timer.builder("auth.client.duration")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.leaders = Counter.builder("auth.client.singleflight").tag("role", "leader").register(registry);
+        this.followers = Counter.builder("auth.client.singleflight").tag("role", "follower").register(registry);
+        Gauge.builder("auth.client.singleflight.ratio", this, AuthServiceClient::coalescingRatio)
+                .register(registry);
+        Gauge.builder("auth.client.singleflight.inflight", inFlight, ConcurrentHashMap::size)
+                .register(registry);
+        Gauge.builder("auth.client.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .register(registry);
+        Gauge.builder("auth.client.bulkhead.active", bulkhead,
+                        b -> maxConcurrentCalls - b.availablePermits())
+                .register(registry);
+        Gauge.builder("auth.client.circuit.state", circuitBreaker, b -> b.state().code())
+                .register(registry);
+    }
 
+    /**
+     * @throws ServiceUnavailableException if Auth Service cannot be asked right now
+     */
     public ValidateTokenResponse validateToken(String token) {
+        TokenKey key = TokenKey.of(token);
+        ValidateTokenResponse cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<ValidateTokenResponse> call = new CompletableFuture<>();
+        CompletableFuture<ValidateTokenResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            followers.increment();
+            return await(existing);
+        }
+
+        leaders.increment();
         try {
-            String url = authServiceUrl + validateEndpoint;
-            ValidateTokenRequest request = new ValidateTokenRequest(token);
-
-            log.debug("Validating token with Auth Service at: {}", url);
-            
-            ValidateTokenResponse response = restTemplate.postForObject(
-                    url,
-                    request,
-                    ValidateTokenResponse.class
-            );
-
-            log.debug("Token validation response: {}", response);
+            ValidateTokenResponse response = callAuthService(token);
+            // Cache before leaving the in-flight map so late callers find it there
+            cache.put(key, token, response);
+            call.complete(response);
             return response;
-            
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Tells Auth Service to drop its cached validations of the user (all
+     * users when null), which it would otherwise keep answering without a
+     * user lookup. {@code authorization} is the admin's own bearer header.
+     * Best effort: the change is already committed, so a failure is logged
+     * and the cached entries expire after {@code jwt.cache.ttl}.
+     */
+    public boolean invalidateValidations(String username, String authorization) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromHttpUrl(invalidateUrl);
+        if (username != null) {
+            uri.queryParam("username", username);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (authorization != null) {
+            headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        try {
+            restTemplate.exchange(uri.build().encode().toUri(), HttpMethod.DELETE,
+                    new HttpEntity<>(headers), String.class);
+            return true;
         } catch (RestClientException e) {
-            log.error("Error communicating with Auth Service", e);
-            return new ValidateTokenResponse(false, null, "Failed to validate token: " + e.getMessage());
+            log.warn("Could not purge Auth Service validation cache{}: {}",
+                    username != null ? " for " + username : "", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Waits for a call made by another thread. Its own timeouts bound the
+     * wait; its exception is rethrown as is so followers see the same 503.
+     */
+    private static ValidateTokenResponse await(CompletableFuture<ValidateTokenResponse> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
     }
+
+    private double coalescingRatio() {
+        double joined = followers.count();
+        double total = joined + leaders.count();
+        return total == 0 ? 0.0 : joined / total;
+    }
+
+    private ValidateTokenResponse callAuthService(String token) {
+        if (!acquireBulkhead()) {
+            bulkheadFull.increment();
+            throw new ServiceUnavailableException("Auth Service is busy, please retry", 1);
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                circuitOpen.increment();
+                long retryAfter = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(
+                        circuitBreaker.remainingOpenMillis() + 999));
+                throw new ServiceUnavailableException("Auth Service is unavailable, please retry", retryAfter);
+            }
+
+            long start = System.nanoTime();
+            try {
+                ValidateTokenResponse response = binary ? validateBinary(token) : validateJson(token);
+                circuitBreaker.onSuccess();
+                succeeded.increment();
+                return response;
+            } catch (HttpClientErrorException e) {
+                // Auth Service answered; the request itself was rejected
+                circuitBreaker.onSuccess();
+                succeeded.increment();
+                log.debug("Auth Service rejected validation request: {}", e.getStatusCode());
+                return new ValidateTokenResponse(false, null, "Token is invalid");
+            } catch (RestClientException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                circuitBreaker.onFailure();
+                failed.increment();
+                log.error("Error communicating with Auth Service", e);
+                throw new ServiceUnavailableException("Auth Service is unavailable, please retry", 1);
+            } catch (RuntimeException | Error e) {
+                // Still report the outcome, or a half-open trial permit would never come back
+                circuitBreaker.onFailure();
+                failed.increment();
+                throw e;
+            } finally {
+                duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private ValidateTokenResponse validateJson(String token) {
+        log.debug("Validating token with Auth Service at: {}", validateUrl);
+
+        ValidateTokenResponse response = restTemplate.postForObject(
+                validateUrl,
+                new ValidateTokenRequest(token),
+                ValidateTokenResponse.class
+        );
+        if (response == null) {
+            throw new IllegalArgumentException("Empty validation response");
+        }
+
+        log.debug("Token validation response: {}", response);
+        return response;
+    }
+
+    private ValidateTokenResponse validateBinary(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(FRAME);
+        headers.setAccept(List.of(FRAME));
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+                validateBinaryUrl,
+                HttpMethod.POST,
+                new HttpEntity<>(ValidationWire.encodeRequest(List.of(token)), headers),
+                byte[].class
+        );
+        if (response.getBody() == null) {
+            throw new IllegalArgumentException("Empty validation frame");
+        }
+        return ValidationWire.decodeResults(response.getBody()).get(0);
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Counter outcome(MeterRegistry registry, String outcome) {
+        return Counter.builder("auth.client.calls")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
 }
@@ -0,0 +1,39 @@
+package com.microservices.adminservice.client;
+
+import java.time.Instant;
+
+import org.springframework.stereotype.Component;
+
+import com.microservices.adminservice.dto.ValidateTokenResponse;
+import com.microservices.authclient.AuthenticatedUser;
+import com.microservices.authclient.RemoteTokenVerifier;
+
+/**
+ * Remote fallback of the auth-client filter, for tokens whose key admin-service
+ * does not know: asks Auth Service through {@link AuthServiceClient} (cache,
+ * single flight, bulkhead and circuit breaker included). Only the binary
+ * protocol returns the role, so over JSON such callers get no authorities.
+ */
+@Component
+public class AuthServiceTokenVerifier implements RemoteTokenVerifier {
+
+    private final AuthServiceClient authServiceClient;
+
+    public AuthServiceTokenVerifier(AuthServiceClient authServiceClient) {
+        this.authServiceClient = authServiceClient;
+    }
+
+    @Override
+    public AuthenticatedUser verify(String token) {
+        ValidateTokenResponse response = authServiceClient.validateToken(token);
+        if (!response.isValid()) {
+            return null;
+        }
+        return new AuthenticatedUser(
+                response.getUsername(),
+                response.getUserId(),
+                response.getRole(),
+                response.getExpiresAt() != null ? Instant.ofEpochMilli(response.getExpiresAt()) : null
+        );
+    }
+}
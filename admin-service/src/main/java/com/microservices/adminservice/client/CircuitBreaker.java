@@ -0,0 +1,167 @@
+package com.microservices.adminservice.client;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import com.microservices.adminservice.config.AuthServiceProperties;
+
+/**
+ * Count-based circuit breaker. Closed, it records the outcome of the last
+ * {@code slidingWindowSize} calls and opens once the failure rate reaches the
+ * threshold; open, it rejects every call until {@code openDuration} has
+ * passed; half-open, it admits {@code halfOpenCalls} trial calls and closes
+ * when all of them succeed or reopens on the first failure.
+ * <p>
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized} so
+ * callers on virtual threads never pin their carrier.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED(0), HALF_OPEN(1), OPEN(2);
+
+        private final int code;
+
+        State(int code) {
+            this.code = code;
+        }
+
+        int code() {
+            return code;
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openMillis;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openUntil;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    CircuitBreaker(AuthServiceProperties.CircuitBreaker properties, LongSupplier clock) {
+        this.window = new boolean[Math.max(1, properties.getSlidingWindowSize())];
+        this.minimumCalls = Math.max(1, Math.min(properties.getMinimumCalls(), window.length));
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.openMillis = properties.getOpenDuration();
+        this.halfOpenCalls = Math.max(1, properties.getHalfOpenCalls());
+        this.clock = clock;
+    }
+
+    /**
+     * True if the call may go ahead; it must then report
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN) {
+                if (clock.getAsLong() < openUntil) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                halfOpenPermits = halfOpenCalls;
+                halfOpenSuccesses = 0;
+            }
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onSuccess() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                if (++halfOpenSuccesses >= halfOpenCalls) {
+                    reset(State.CLOSED);
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onFailure() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                open();
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+                    open();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    State state() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Milliseconds until an open breaker admits trial calls; 0 otherwise.
+     */
+    long remainingOpenMillis() {
+        lock.lock();
+        try {
+            return state == State.OPEN ? Math.max(0, openUntil - clock.getAsLong()) : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        reset(State.OPEN);
+        openUntil = clock.getAsLong() + openMillis;
+    }
+
+    private void reset(State newState) {
+        state = newState;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        halfOpenPermits = 0;
+        halfOpenSuccesses = 0;
+    }
+}
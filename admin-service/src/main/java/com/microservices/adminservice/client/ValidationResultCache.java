@@ -0,0 +1,243 @@
+package com.microservices.adminservice.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.microservices.adminservice.config.AuthServiceProperties;
+import com.microservices.adminservice.dto.ValidateTokenResponse;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bounded local cache of Auth Service validation results, so an admin paging
+ * through the UI does not cost one remote call per click.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token (raw bearer tokens are
+ * never kept in memory). Positive results live until the token's own expiry
+ * or {@code max-ttl}, whichever comes first; negative results for
+ * {@code negative-ttl}. Failed calls are never cached.
+ * <p>
+ * Metrics: {@code auth.client.cache.requests{result=hit|miss}},
+ * {@code auth.client.cache.evictions}, {@code auth.client.cache.size} and
+ * {@code auth.client.cache.hit.ratio}.
+ */
+@Component
+public class ValidationResultCache {
+
+    private static final byte[] EXP = "\"exp\":".getBytes(StandardCharsets.US_ASCII);
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long maxTtlMillis;
+    private final long negativeTtlMillis;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<TokenKey, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public ValidationResultCache(AuthServiceProperties properties, MeterRegistry registry) {
+        this(properties.getCache(), System::currentTimeMillis);
+
+        FunctionCounter.builder("auth.client.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.client.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("auth.client.cache.evictions", evictions, LongAdder::sum)
+                .register(registry);
+        Gauge.builder("auth.client.cache.size", entries, Map::size)
+                .register(registry);
+        Gauge.builder("auth.client.cache.hit.ratio", this, ValidationResultCache::hitRatio)
+                .register(registry);
+    }
+
+    ValidationResultCache(AuthServiceProperties.Cache cache, LongSupplier clock) {
+        this.enabled = cache.isEnabled() && cache.getMaxSize() > 0;
+        this.maxSize = cache.getMaxSize();
+        this.maxTtlMillis = cache.getMaxTtl();
+        this.negativeTtlMillis = Math.min(cache.getNegativeTtl(), cache.getMaxTtl());
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached result for the token, or null on a miss.
+     */
+    public ValidateTokenResponse get(String token) {
+        return enabled ? get(TokenKey.of(token)) : null;
+    }
+
+    ValidateTokenResponse get(TokenKey key) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(clock.getAsLong())) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.result;
+    }
+
+    public void put(String token, ValidateTokenResponse result) {
+        if (enabled) {
+            put(TokenKey.of(token), token, result);
+        }
+    }
+
+    /**
+     * {@code token} is only read for its {@code exp}; the entry is stored under {@code key}.
+     */
+    void put(TokenKey key, String token, ValidateTokenResponse result) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long expiresAt;
+        if (result.isValid()) {
+            long tokenExpiry = result.getExpiresAt() != null ? result.getExpiresAt() : expiryOf(token);
+            expiresAt = now + maxTtlMillis;
+            if (tokenExpiry > 0) {
+                expiresAt = Math.min(expiresAt, tokenExpiry);
+            }
+        } else {
+            expiresAt = now + negativeTtlMillis;
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(key, new Entry(result, expiresAt));
+    }
+
+    /**
+     * Drops every cached result for the given user; returns how many.
+     */
+    public int invalidateUser(String username) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> username.equals(entry.result.getUsername()));
+        return before - entries.size();
+    }
+
+    /**
+     * Drops every cached result; returns how many.
+     */
+    public int invalidateAll() {
+        int before = entries.size();
+        entries.clear();
+        return before;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * Removes expired entries first; if the cache is still full, drops about
+     * a tenth of it so that a saturated cache doesn't sweep on every put.
+     */
+    private void evict(long now) {
+        Iterator<Map.Entry<TokenKey, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().isExpired(now)) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+
+        int target = maxSize - Math.max(1, maxSize / 10);
+        it = entries.entrySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * The {@code exp} claim of a JWT in epoch milliseconds, or 0 if it cannot
+     * be read. The signature is not checked: Auth Service has just vouched for
+     * the token, this only caps how long that answer is reused.
+     */
+    static long expiryOf(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0) {
+            return 0;
+        }
+        byte[] payload;
+        try {
+            payload = Base64.getUrlDecoder().decode(token.substring(first + 1, second));
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+        outer:
+        for (int i = 0; i + EXP.length <= payload.length; i++) {
+            for (int j = 0; j < EXP.length; j++) {
+                if (payload[i + j] != EXP[j]) {
+                    continue outer;
+                }
+            }
+            long seconds = 0;
+            int digits = 0;
+            for (int k = i + EXP.length; k < payload.length && payload[k] >= '0' && payload[k] <= '9'; k++) {
+                seconds = seconds * 10 + (payload[k] - '0');
+                digits++;
+            }
+            return digits > 0 && digits < 13 ? seconds * 1000 : 0;
+        }
+        return 0;
+    }
+
+    private static final class Entry {
+        private final ValidateTokenResponse result;
+        private final long expiresAtMillis;
+
+        private Entry(ValidateTokenResponse result, long expiresAtMillis) {
+            this.result = result;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
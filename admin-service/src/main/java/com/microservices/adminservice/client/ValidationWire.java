@@ -0,0 +1,95 @@
+package com.microservices.adminservice.client;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.microservices.adminservice.dto.ValidateTokenResponse;
+
+/**
+ * Client half of the binary validation frame served by auth-service at
+ * {@code /api/auth/validate/binary} (see its {@code ValidationWire}).
+ * All integers are big-endian.
+ *
+ * <pre>
+ * request:  u8 version, u16 count, count x (u16 length, ASCII token)
+ * response: u8 version, u16 count, count x result
+ * result:   u8 status (0 invalid, 1 valid); when valid:
+ *           i64 user id (-1 if absent), i64 expiry epoch millis (0 if absent),
+ *           u8 length + UTF-8 role, u16 length + UTF-8 username
+ * </pre>
+ */
+final class ValidationWire {
+
+    private ValidationWire() {
+        // Utility class
+    }
+
+    static final String CONTENT_TYPE = "application/x-auth-validation";
+    static final byte VERSION = 1;
+
+    private static final byte VALID = 1;
+
+    static byte[] encodeRequest(List<String> tokens) {
+        int size = 3;
+        for (String token : tokens) {
+            size += 2 + token.length();
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.put(VERSION);
+        out.putShort((short) tokens.size());
+        for (String token : tokens) {
+            if (token.length() > 0xffff) {
+                throw new IllegalArgumentException("Token too long for the validation frame");
+            }
+            out.putShort((short) token.length());
+            for (int i = 0; i < token.length(); i++) {
+                out.put((byte) token.charAt(i));
+            }
+        }
+        return out.array();
+    }
+
+    /**
+     * Decodes a response frame into one result per requested token.
+     *
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    static List<ValidateTokenResponse> decodeResults(byte[] frame) {
+        ByteBuffer in = ByteBuffer.wrap(frame);
+        try {
+            if (in.get() != VERSION) {
+                throw new IllegalArgumentException("Unsupported validation frame version");
+            }
+            int count = Short.toUnsignedInt(in.getShort());
+            List<ValidateTokenResponse> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                if (in.get() != VALID) {
+                    results.add(new ValidateTokenResponse(false, null, "Token is invalid"));
+                    continue;
+                }
+                long userId = in.getLong();
+                long expiresAt = in.getLong();
+                String role = string(in, Byte.toUnsignedInt(in.get()));
+                String username = string(in, Short.toUnsignedInt(in.getShort()));
+
+                ValidateTokenResponse result = new ValidateTokenResponse(true, username, "Token is valid");
+                result.setUserId(userId >= 0 ? userId : null);
+                result.setExpiresAt(expiresAt > 0 ? expiresAt : null);
+                result.setRole(role.isEmpty() ? null : role);
+                results.add(result);
+            }
+            return results;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated validation frame", e);
+        }
+    }
+
+    private static String string(ByteBuffer in, int length) {
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+}
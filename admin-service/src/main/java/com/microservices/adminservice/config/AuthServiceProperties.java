@@ -0,0 +1,280 @@
+package com.microservices.adminservice.config;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connection to Auth Service: endpoints, the pooled HTTP client, and the
+ * bulkhead and circuit breaker around token validation. Durations are in
+ * milliseconds.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "auth-service")
+public class AuthServiceProperties {
+    private String url;
+    private String validateEndpoint = "/api/auth/validate";
+    private String validateBinaryEndpoint = "/api/auth/validate/binary";
+    private String invalidateEndpoint = "/api/auth/validation-cache";
+    private String protocol = "binary";
+    private Pool pool = new Pool();
+    private Bulkhead bulkhead = new Bulkhead();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Cache cache = new Cache();
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getValidateEndpoint() {
+        return validateEndpoint;
+    }
+
+    public void setValidateEndpoint(String validateEndpoint) {
+        this.validateEndpoint = validateEndpoint;
+    }
+
+    public String getValidateBinaryEndpoint() {
+        return validateBinaryEndpoint;
+    }
+
+    public void setValidateBinaryEndpoint(String validateBinaryEndpoint) {
+        this.validateBinaryEndpoint = validateBinaryEndpoint;
+    }
+
+    /**
+     * Drops Auth Service's cached validations after a user is changed.
+     */
+    public String getInvalidateEndpoint() {
+        return invalidateEndpoint;
+    }
+
+    public void setInvalidateEndpoint(String invalidateEndpoint) {
+        this.invalidateEndpoint = invalidateEndpoint;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public void setProtocol(String protocol) {
+        this.protocol = protocol;
+    }
+
+    public Pool getPool() {
+        return pool;
+    }
+
+    public void setPool(Pool pool) {
+        this.pool = pool;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Pooled HTTP client. {@code connectionRequestTimeout} is the longest a
+     * call waits for a free pooled connection.
+     */
+    public static class Pool {
+        private int maxConnections = 64;
+        private long connectTimeout = 1000L;
+        private long responseTimeout = 2000L;
+        private long connectionRequestTimeout = 500L;
+        private long idleTimeout = 30000L;
+        private long timeToLive = 300000L;
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public long getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(long connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public long getResponseTimeout() {
+            return responseTimeout;
+        }
+
+        public void setResponseTimeout(long responseTimeout) {
+            this.responseTimeout = responseTimeout;
+        }
+
+        public long getConnectionRequestTimeout() {
+            return connectionRequestTimeout;
+        }
+
+        public void setConnectionRequestTimeout(long connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+        }
+
+        public long getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(long idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+
+        public long getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(long timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+    }
+
+    /**
+     * At most {@code maxConcurrentCalls} validations in flight; a call that
+     * cannot get a slot within {@code maxWait} fails fast.
+     */
+    public static class Bulkhead {
+        private int maxConcurrentCalls = 64;
+        private long maxWait = 50L;
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public long getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(long maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    /**
+     * Opens when at least {@code failureRateThreshold} percent of the last
+     * {@code slidingWindowSize} calls failed (once {@code minimumCalls} were
+     * recorded), rejects calls for {@code openDuration}, then lets
+     * {@code halfOpenCalls} trial calls decide whether to close again.
+     */
+    public static class CircuitBreaker {
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private int failureRateThreshold = 50;
+        private long openDuration = 10000L;
+        private int halfOpenCalls = 3;
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public long getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(long openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+
+    /**
+     * Local cache of validation results. Positive results never outlive the
+     * token's expiry or {@code maxTtl}; negative ones live {@code negativeTtl}.
+     */
+    public static class Cache {
+        private boolean enabled = true;
+        private int maxSize = 10000;
+        private long maxTtl = 60000L;
+        private long negativeTtl = 5000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public long getMaxTtl() {
+            return maxTtl;
+        }
+
+        public void setMaxTtl(long maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+
+        public long getNegativeTtl() {
+            return negativeTtl;
+        }
+
+        public void setNegativeTtl(long negativeTtl) {
+            this.negativeTtl = negativeTtl;
+        }
+    }
+}
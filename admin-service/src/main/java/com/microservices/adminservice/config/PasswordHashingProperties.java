@@ -0,0 +1,160 @@
+package com.microservices.adminservice.config;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Password hashing: the algorithm used for new hashes, its parameters, and
+ * the executor that runs hashing off the request threads.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;
+    private long retryAfter = 1;
+    private String algorithm = "bcrypt";
+    private BCrypt bcrypt = new BCrypt();
+    private Argon2 argon2 = new Argon2();
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(long retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public BCrypt getBcrypt() {
+        return bcrypt;
+    }
+
+    public void setBcrypt(BCrypt bcrypt) {
+        this.bcrypt = bcrypt;
+    }
+
+    public Argon2 getArgon2() {
+        return argon2;
+    }
+
+    public void setArgon2(Argon2 argon2) {
+        this.argon2 = argon2;
+    }
+
+    /**
+     * A fixed {@code cost} wins; otherwise the cost is calibrated at startup to
+     * the highest value whose hash still fits in {@code targetMillis}.
+     */
+    public static class BCrypt {
+        private Integer cost;
+        private long targetMillis = 100;
+        private int minCost = 10;
+        private int maxCost = 14;
+
+        public Integer getCost() {
+            return cost;
+        }
+
+        public void setCost(Integer cost) {
+            this.cost = cost;
+        }
+
+        public long getTargetMillis() {
+            return targetMillis;
+        }
+
+        public void setTargetMillis(long targetMillis) {
+            this.targetMillis = targetMillis;
+        }
+
+        public int getMinCost() {
+            return minCost;
+        }
+
+        public void setMinCost(int minCost) {
+            this.minCost = minCost;
+        }
+
+        public int getMaxCost() {
+            return maxCost;
+        }
+
+        public void setMaxCost(int maxCost) {
+            this.maxCost = maxCost;
+        }
+    }
+
+    /**
+     * Argon2id parameters; {@code memory} is in KiB.
+     */
+    public static class Argon2 {
+        private int memory = 19456;
+        private int iterations = 2;
+        private int parallelism = 1;
+        private int saltLength = 16;
+        private int hashLength = 32;
+
+        public int getMemory() {
+            return memory;
+        }
+
+        public void setMemory(int memory) {
+            this.memory = memory;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public void setIterations(int iterations) {
+            this.iterations = iterations;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getSaltLength() {
+            return saltLength;
+        }
+
+        public void setSaltLength(int saltLength) {
+            this.saltLength = saltLength;
+        }
+
+        public int getHashLength() {
+            return hashLength;
+        }
+
+        public void setHashLength(int hashLength) {
+            this.hashLength = hashLength;
+        }
+    }
+}
@@ -1,14 +1,71 @@
 package com.microservices.adminservice.config;
 
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
 @Configuration
 public class RestTemplateConfig {
 
+    /**
+     * Keep-alive pool for calls to Auth Service. Every call is bounded by the
+     * connect, pool-wait and response timeouts from {@link AuthServiceProperties},
+     * idle connections are evicted, and pool usage is published as
+     * {@code httpcomponents.httpclient.pool.*{httpclient=auth-service}}.
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager authServiceConnectionManager(
+            AuthServiceProperties properties, MeterRegistry meterRegistry) {
+        AuthServiceProperties.Pool pool = properties.getPool();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(pool.getMaxConnections())
+                .setMaxConnPerRoute(pool.getMaxConnections())
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(pool.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(pool.getResponseTimeout()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(pool.getTimeToLive()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "auth-service")
+                .bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient authServiceHttpClient(
+            PoolingHttpClientConnectionManager authServiceConnectionManager, AuthServiceProperties properties) {
+        AuthServiceProperties.Pool pool = properties.getPool();
+        return HttpClients.custom()
+                .setConnectionManager(authServiceConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(pool.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(pool.getResponseTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(pool.getIdleTimeout(), TimeUnit.MILLISECONDS))
+                .disableAutomaticRetries()
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient authServiceHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(authServiceHttpClient));
     }
 }
@@ -0,0 +1,49 @@
+package com.microservices.adminservice.config;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Streaming of {@code GET /api/admin/users/export}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "user-export")
+public class UserExportProperties {
+    private int fetchSize = Integer.MIN_VALUE;
+    private int flushEvery = 1000;
+    private int bufferSize = 65536;
+
+    /**
+     * JDBC fetch size of the export cursor. MySQL Connector/J streams row by
+     * row with {@code Integer.MIN_VALUE}; a positive size fetches that many
+     * rows per round trip but only with {@code useCursorFetch=true} on the URL.
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Rows written between flushes to the client.
+     */
+    public int getFlushEvery() {
+        return flushEvery;
+    }
+
+    public void setFlushEvery(int flushEvery) {
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * Bytes buffered (and, with gzip, compressed) before a write reaches the socket.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+}
@@ -0,0 +1,29 @@
+package com.microservices.adminservice.config;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Page sizes of {@code GET /api/admin/users}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "user-listing")
+public class UserListingProperties {
+    private int defaultPageSize = 50;
+    private int maxPageSize = 500;
+
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+}
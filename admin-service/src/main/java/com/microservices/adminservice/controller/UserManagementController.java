@@ -1,9 +1,14 @@
 package com.microservices.adminservice.controller;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,15 +19,21 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.microservices.adminservice.client.AuthServiceClient;
+import com.microservices.adminservice.client.ValidationResultCache;
 import com.microservices.adminservice.dto.ResetPasswordRequest;
 import com.microservices.adminservice.dto.UpdateUserRequest;
+import com.microservices.adminservice.dto.UserPageResponse;
 import com.microservices.adminservice.dto.UserResponse;
-import com.microservices.adminservice.dto.ValidateTokenResponse;
+import com.microservices.adminservice.exception.ServiceUnavailableException;
+import com.microservices.adminservice.service.UserExportFormat;
+import com.microservices.adminservice.service.UserExportService;
 import com.microservices.adminservice.service.UserManagementService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -32,27 +43,35 @@ public class UserManagementController {
     private static final Logger log = LoggerFactory.getLogger(UserManagementController.class);
 
     private final UserManagementService userManagementService;
+    private final UserExportService userExportService;
+    private final ValidationResultCache validationResultCache;
     private final AuthServiceClient authServiceClient;
 
-    public UserManagementController(UserManagementService userManagementService, AuthServiceClient authServiceClient) {
+    public UserManagementController(UserManagementService userManagementService,
+                                    UserExportService userExportService,
+                                    ValidationResultCache validationResultCache,
+                                    AuthServiceClient authServiceClient) {
         this.userManagementService = userManagementService;
+        this.userExportService = userExportService;
+        this.validationResultCache = validationResultCache;
         this.authServiceClient = authServiceClient;
     }
 
     /**
-     * Get all users
+     * List users, one keyset page at a time
      */
     @GetMapping
-    public ResponseEntity<?> getAllUsers(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction) {
         try {
-            // Validate admin token
-            if (!validateAdminToken(authHeader)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body("Unauthorized: Invalid or missing token");
-            }
-
-            List<UserResponse> users = userManagementService.getAllUsers();
-            return ResponseEntity.ok(users);
+            UserPageResponse page = userManagementService.getUsers(cursor, size, sort, direction);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(e.getMessage());
         } catch (Exception e) {
             log.error("Error fetching users", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -61,18 +80,59 @@ public class UserManagementController {
     }
 
     /**
-     * Get user by ID
+     * Export all users as NDJSON or CSV, streamed row by row; gzip-compressed
+     * when the client accepts it
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<?> getUserById(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+    @GetMapping("/export")
+    public void exportUsers(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+        UserExportFormat exportFormat = UserExportFormat.of(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("users." + exportFormat.getExtension())
+                .build()
+                .toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        long start = System.nanoTime();
         try {
-            if (!validateAdminToken(authHeader)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body("Unauthorized: Invalid or missing token");
+            OutputStream out = response.getOutputStream();
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 8192, true) : null;
+            long rows = userExportService.export(exportFormat, compressed != null ? compressed : out);
+            if (compressed != null) {
+                compressed.finish();
+            }
+            out.flush();
+            log.info("Exported {} users as {}{} in {} ms", rows, exportFormat.getExtension(),
+                    gzip ? " (gzip)" : "", (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            if (!response.isCommitted()) {
+                response.reset();
+                throw e;
             }
+            // Rows have already been sent, so no error status can follow. Rethrowing makes
+            // the container abort the connection without the final chunk, and the client
+            // sees a broken transfer instead of a file that looks complete.
+            log.warn("User export aborted after {} ms: {}",
+                    (System.nanoTime() - start) / 1_000_000, e.toString());
+            throw e;
+        }
+    }
 
+    /**
+     * Get user by ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getUserById(@PathVariable Long id) {
+        try {
             UserResponse user = userManagementService.getUserById(id);
             return ResponseEntity.ok(user);
         } catch (RuntimeException e) {
@@ -90,15 +150,8 @@ public class UserManagementController {
      * Get user by username
      */
     @GetMapping("/username/{username}")
-    public ResponseEntity<?> getUserByUsername(
-            @PathVariable String username,
-            @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getUserByUsername(@PathVariable String username) {
         try {
-            if (!validateAdminToken(authHeader)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body("Unauthorized: Invalid or missing token");
-            }
-
             UserResponse user = userManagementService.getUserByUsername(username);
             return ResponseEntity.ok(user);
         } catch (RuntimeException e) {
@@ -119,14 +172,12 @@ public class UserManagementController {
     public ResponseEntity<?> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UpdateUserRequest request,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
         try {
-            if (!validateAdminToken(authHeader)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body("Unauthorized: Invalid or missing token");
-            }
-
             UserResponse user = userManagementService.updateUser(id, request);
+            // The username or status may have changed; cached results could name the old one
+            validationResultCache.invalidateAll();
+            authServiceClient.invalidateValidations(null, authorization);
             return ResponseEntity.ok(user);
         } catch (RuntimeException e) {
             log.error("Error updating user with ID: {}", id, e);
@@ -145,14 +196,11 @@ public class UserManagementController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteUser(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
         try {
-            if (!validateAdminToken(authHeader)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body("Unauthorized: Invalid or missing token");
-            }
-
             userManagementService.deleteUser(id);
+            validationResultCache.invalidateAll();
+            authServiceClient.invalidateValidations(null, authorization);
             return ResponseEntity.ok("User deleted successfully");
         } catch (RuntimeException e) {
             log.error("Error deleting user with ID: {}", id, e);
@@ -169,15 +217,8 @@ public class UserManagementController {
      * Activate user
      */
     @PostMapping("/{id}/activate")
-    public ResponseEntity<?> activateUser(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> activateUser(@PathVariable Long id) {
         try {
-            if (!validateAdminToken(authHeader)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body("Unauthorized: Invalid or missing token");
-            }
-
             UserResponse user = userManagementService.activateUser(id);
             return ResponseEntity.ok(user);
         } catch (RuntimeException e) {
@@ -197,14 +238,11 @@ public class UserManagementController {
     @PostMapping("/{id}/deactivate")
     public ResponseEntity<?> deactivateUser(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
         try {
-            if (!validateAdminToken(authHeader)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body("Unauthorized: Invalid or missing token");
-            }
-
             UserResponse user = userManagementService.deactivateUser(id);
+            validationResultCache.invalidateUser(user.getUsername());
+            authServiceClient.invalidateValidations(user.getUsername(), authorization);
             return ResponseEntity.ok(user);
         } catch (RuntimeException e) {
             log.error("Error deactivating user with ID: {}", id, e);
@@ -223,16 +261,12 @@ public class UserManagementController {
     @PostMapping("/{id}/reset-password")
     public ResponseEntity<?> resetPassword(
             @PathVariable Long id,
-            @Valid @RequestBody ResetPasswordRequest request,
-            @RequestHeader("Authorization") String authHeader) {
+            @Valid @RequestBody ResetPasswordRequest request) {
         try {
-            if (!validateAdminToken(authHeader)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body("Unauthorized: Invalid or missing token");
-            }
-
             userManagementService.resetPassword(id, request);
             return ResponseEntity.ok("Password reset successfully");
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (RuntimeException e) {
             log.error("Error resetting password for user with ID: {}", id, e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -244,6 +278,18 @@ public class UserManagementController {
         }
     }
 
+    /**
+     * Purge cached token validations, for one user or all of them
+     */
+    @DeleteMapping("/validation-cache")
+    public ResponseEntity<?> purgeValidationCache(@RequestParam(required = false) String username) {
+        int purged = username != null
+                ? validationResultCache.invalidateUser(username)
+                : validationResultCache.invalidateAll();
+        log.info("Purged {} cached token validations{}", purged, username != null ? " for " + username : "");
+        return ResponseEntity.ok(Map.of("message", "Validation cache purged", "purged", purged));
+    }
+
     /**
      * Health check endpoint
      */
@@ -252,24 +298,16 @@ public class UserManagementController {
         return ResponseEntity.ok("Admin Service is running");
     }
 
-    /**
-     * Validate admin token by calling Auth Service
-     */
-    private boolean validateAdminToken(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            log.warn("Missing or invalid Authorization header");
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
             return false;
         }
-
-        String token = authHeader.substring(7);
-        ValidateTokenResponse response = authServiceClient.validateToken(token);
-
-        if (!response.isValid()) {
-            log.warn("Token validation failed: {}", response.getMessage());
-            return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
         }
-
-        log.debug("Token validated successfully for user: {}", response.getUsername());
-        return true;
+        return false;
     }
 }
@@ -0,0 +1,76 @@
+package com.microservices.adminservice.dto;
+
+import java.util.List;
+
+/**
+ * One page of {@code GET /api/admin/users}. Pass {@code nextCursor} back as
+ * {@code cursor} for the following page; it is null on the last one.
+ */
+public class UserPageResponse {
+    private List<UserResponse> users;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+    private String sort;
+    private String direction;
+
+    public UserPageResponse() {
+    }
+
+    public UserPageResponse(List<UserResponse> users, String nextCursor, int size, String sort, String direction) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.size = size;
+        this.sort = sort;
+        this.direction = direction;
+    }
+
+    public List<UserResponse> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<UserResponse> users) {
+        this.users = users;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+}
@@ -3,6 +3,9 @@ public class ValidateTokenResponse {
     private boolean valid;
     private String username;
     private String message;
+    private Long userId;
+    private String role;
+    private Long expiresAt;
 
     public ValidateTokenResponse() {
     }
@@ -36,4 +39,34 @@ public class ValidateTokenResponse {
     public void setMessage(String message) {
         this.message = message;
     }
+
+    /**
+     * Only filled by the binary channel; null when answered over JSON.
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    /**
+     * Token expiry in epoch milliseconds; only filled by the binary channel.
+     */
+    public Long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
 }
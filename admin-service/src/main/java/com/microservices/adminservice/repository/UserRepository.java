@@ -1,19 +1,56 @@
 package com.microservices.adminservice.repository;
 
 import com.microservices.adminservice.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    
+
+    String SELECT_SUMMARY = "select u.id as id, u.username as username, u.email as email, u.role as role, "
+            + "u.enabled as enabled, u.createdAt as createdAt, u.updatedAt as updatedAt from User u ";
+
     Optional<User> findByUsername(String username);
-    
+
     Optional<User> findByEmail(String email);
-    
+
     boolean existsByUsername(String username);
-    
+
     boolean existsByEmail(String email);
+
+    /*
+     * Keyset pages of user summaries: each query continues strictly after the
+     * last row of the previous page (a null key starts from the beginning),
+     * walking an index instead of skipping OFFSET rows. The Pageable only
+     * caps the row count; the order is fixed by the query.
+     */
+
+    @Query(SELECT_SUMMARY + "where :afterId is null or u.id > :afterId order by u.id asc")
+    List<UserSummary> findPageByIdAsc(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query(SELECT_SUMMARY + "where :beforeId is null or u.id < :beforeId order by u.id desc")
+    List<UserSummary> findPageByIdDesc(@Param("beforeId") Long beforeId, Pageable limit);
+
+    @Query(SELECT_SUMMARY + "where :after is null or u.username > :after order by u.username asc")
+    List<UserSummary> findPageByUsernameAsc(@Param("after") String after, Pageable limit);
+
+    @Query(SELECT_SUMMARY + "where :before is null or u.username < :before order by u.username desc")
+    List<UserSummary> findPageByUsernameDesc(@Param("before") String before, Pageable limit);
+
+    @Query(SELECT_SUMMARY + "where :createdAt is null or u.createdAt > :createdAt "
+            + "or (u.createdAt = :createdAt and u.id > :id) order by u.createdAt asc, u.id asc")
+    List<UserSummary> findPageByCreatedAtAsc(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                             Pageable limit);
+
+    @Query(SELECT_SUMMARY + "where :createdAt is null or u.createdAt < :createdAt "
+            + "or (u.createdAt = :createdAt and u.id < :id) order by u.createdAt desc, u.id desc")
+    List<UserSummary> findPageByCreatedAtDesc(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                              Pageable limit);
 }
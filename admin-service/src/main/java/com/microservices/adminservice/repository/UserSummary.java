@@ -0,0 +1,26 @@
+package com.microservices.adminservice.repository;
+
+import com.microservices.adminservice.entity.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed projection of {@code User} for listings: only these columns are
+ * selected, never the password hash.
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    Role getRole();
+
+    boolean isEnabled();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,94 @@
+package com.microservices.adminservice.security;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.microservices.adminservice.config.PasswordHashingProperties;
+
+/**
+ * Builds the password encoder: a {@link DelegatingPasswordEncoder} that
+ * prefixes new hashes with their algorithm id ({@code {bcrypt}} or
+ * {@code {argon2}}) and still reads unprefixed legacy BCrypt hashes.
+ * <p>
+ * BCrypt and Argon2 both keep their parameters inside the hash, so
+ * {@link PasswordEncoder#upgradeEncoding} reports hashes made with another
+ * algorithm or a lower cost; the auth service re-hashes them on the next login.
+ */
+public final class PasswordEncoderFactory {
+
+    static final String BCRYPT = "bcrypt";
+    static final String ARGON2 = "argon2";
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderFactory.class);
+
+    private static final int PROBE_COST = 8;
+    private static final int PROBE_ROUNDS = 5;
+
+    private PasswordEncoderFactory() {
+    }
+
+    public static PasswordEncoder create(PasswordHashingProperties properties) {
+        PasswordHashingProperties.BCrypt bcryptProperties = properties.getBcrypt();
+        int cost = bcryptProperties.getCost() != null
+                ? bcryptProperties.getCost()
+                : calibrateBCryptCost(bcryptProperties.getTargetMillis(),
+                        bcryptProperties.getMinCost(), bcryptProperties.getMaxCost());
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+
+        PasswordHashingProperties.Argon2 argon2Properties = properties.getArgon2();
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, new Argon2PasswordEncoder(
+                argon2Properties.getSaltLength(),
+                argon2Properties.getHashLength(),
+                argon2Properties.getParallelism(),
+                argon2Properties.getMemory(),
+                argon2Properties.getIterations()
+        ));
+
+        String algorithm = properties.getAlgorithm();
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Unsupported password-hashing.algorithm: " + algorithm);
+        }
+        log.info("Hashing new passwords with {} (bcrypt cost {})", algorithm, cost);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * Times a few cheap hashes and extrapolates: each cost step doubles the
+     * work. Returns the highest cost in {@code [minCost, maxCost]} expected to
+     * stay within {@code targetMillis}.
+     */
+    static int calibrateBCryptCost(long targetMillis, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_COST);
+        probe.encode("calibration");
+
+        long[] samples = new long[PROBE_ROUNDS];
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        double probeMillis = samples[PROBE_ROUNDS / 2] / 1_000_000.0;
+
+        int cost = minCost;
+        while (cost < maxCost && Math.scalb(probeMillis, cost + 1 - PROBE_COST) <= targetMillis) {
+            cost++;
+        }
+        log.info("Calibrated bcrypt cost {} (cost {} took {} ms, target {} ms)",
+                cost, PROBE_COST, String.format("%.2f", probeMillis), targetMillis);
+        return cost;
+    }
+}
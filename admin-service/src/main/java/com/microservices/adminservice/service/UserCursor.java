@@ -0,0 +1,104 @@
+package com.microservices.adminservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.microservices.adminservice.repository.UserSummary;
+
+/**
+ * Opaque position in a user listing: the sort order and the key of the last
+ * row returned, encoded as base64url of {@code sort,direction,id,value}.
+ * The order travels with the cursor so a page can only be continued the way
+ * it was started.
+ */
+final class UserCursor {
+
+    enum SortKey {
+        ID("id"), USERNAME("username"), CREATED_AT("createdAt");
+
+        private final String param;
+
+        SortKey(String param) {
+            this.param = param;
+        }
+
+        String param() {
+            return param;
+        }
+
+        static SortKey of(String param) {
+            for (SortKey key : values()) {
+                if (key.param.equalsIgnoreCase(param)) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort: " + param + " (use id, username or createdAt)");
+        }
+    }
+
+    private final SortKey sortKey;
+    private final boolean descending;
+    private final long id;
+    private final String username;
+    private final LocalDateTime createdAt;
+
+    private UserCursor(SortKey sortKey, boolean descending, long id, String username, LocalDateTime createdAt) {
+        this.sortKey = sortKey;
+        this.descending = descending;
+        this.id = id;
+        this.username = username;
+        this.createdAt = createdAt;
+    }
+
+    SortKey sortKey() {
+        return sortKey;
+    }
+
+    boolean descending() {
+        return descending;
+    }
+
+    long id() {
+        return id;
+    }
+
+    String username() {
+        return username;
+    }
+
+    LocalDateTime createdAt() {
+        return createdAt;
+    }
+
+    static String encode(SortKey sortKey, boolean descending, UserSummary last) {
+        String value = switch (sortKey) {
+            case ID -> "";
+            case USERNAME -> last.getUsername();
+            case CREATED_AT -> last.getCreatedAt().toString();
+        };
+        String raw = sortKey.param() + "," + (descending ? "desc" : "asc") + "," + last.getId() + "," + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode}
+     */
+    static UserCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(",", 4);
+            if (parts.length != 4 || !(parts[1].equals("asc") || parts[1].equals("desc"))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            SortKey sortKey = SortKey.of(parts[0]);
+            long id = Long.parseLong(parts[2]);
+            return new UserCursor(sortKey, parts[1].equals("desc"), id,
+                    sortKey == SortKey.USERNAME ? parts[3] : null,
+                    sortKey == SortKey.CREATED_AT ? LocalDateTime.parse(parts[3]) : null);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
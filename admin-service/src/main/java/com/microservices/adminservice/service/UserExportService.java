@@ -0,0 +1,201 @@
+package com.microservices.adminservice.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.adminservice.config.UserExportProperties;
+
+/**
+ * Streams every user (never the password hash) to an output stream, one row
+ * at a time: a forward-only, read-only JDBC cursor with the configured fetch
+ * size feeds a buffered writer that is flushed every {@code flush-every}
+ * rows. Memory use does not depend on the number of users.
+ * <p>
+ * Runs in one read-only transaction, so the export is a consistent snapshot.
+ */
+@Service
+public class UserExportService {
+
+    static final String SELECT_USERS =
+            "select id, username, email, role, enabled, created_at, updated_at from users order by id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserExportProperties properties;
+
+    public UserExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, UserExportProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Writes all users in id order and returns how many were written. The
+     * stream is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(UserExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8),
+                properties.getBufferSize());
+        ExportHandler handler = format == UserExportFormat.CSV
+                ? new CsvExport(writer, properties.getFlushEvery())
+                : new NdjsonExport(writer, properties.getFlushEvery(), objectMapper);
+        try {
+            handler.start();
+            jdbcTemplate.query(this::openCursor, handler);
+            handler.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return handler.rows;
+    }
+
+    private PreparedStatement openCursor(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(
+                SELECT_USERS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(properties.getFetchSize());
+        return statement;
+    }
+
+    private abstract static class ExportHandler implements RowCallbackHandler {
+        final Writer writer;
+        private final int flushEvery;
+        long rows;
+
+        ExportHandler(Writer writer, int flushEvery) {
+            this.writer = writer;
+            this.flushEvery = Math.max(1, flushEvery);
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                writeRow(rs);
+                if (++rows % flushEvery == 0) {
+                    flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void start() throws IOException {
+        }
+
+        abstract void writeRow(ResultSet rs) throws SQLException, IOException;
+
+        void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * One JSON object per line, with the field names of {@code UserResponse}.
+     */
+    private static final class NdjsonExport extends ExportHandler {
+        private final JsonGenerator json;
+
+        NdjsonExport(Writer writer, int flushEvery, ObjectMapper objectMapper) throws IOException {
+            super(writer, flushEvery);
+            this.json = objectMapper.getFactory().createGenerator(writer);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are ended explicitly; no extra separator between root values
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong(1));
+            json.writeStringField("username", rs.getString(2));
+            json.writeStringField("email", rs.getString(3));
+            json.writeStringField("role", rs.getString(4));
+            json.writeBooleanField("enabled", rs.getBoolean(5));
+            json.writeStringField("createdAt", timestamp(rs, 6));
+            json.writeStringField("updatedAt", timestamp(rs, 7));
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            // Flushes the writer underneath as well
+            json.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header line.
+     */
+    private static final class CsvExport extends ExportHandler {
+
+        CsvExport(Writer writer, int flushEvery) {
+            super(writer, flushEvery);
+        }
+
+        @Override
+        void start() throws IOException {
+            writer.write("id,username,email,role,enabled,createdAt,updatedAt\r\n");
+        }
+
+        @Override
+        void writeRow(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong(1)));
+            writer.write(',');
+            field(rs.getString(2));
+            writer.write(',');
+            field(rs.getString(3));
+            writer.write(',');
+            field(rs.getString(4));
+            writer.write(',');
+            writer.write(rs.getBoolean(5) ? "true" : "false");
+            writer.write(',');
+            field(timestamp(rs, 6));
+            writer.write(',');
+            field(timestamp(rs, 7));
+            writer.write("\r\n");
+        }
+
+        private void field(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            // Values a spreadsheet would run as a formula are prefixed with a quote
+            boolean formula = "=+-@\t\r".indexOf(value.charAt(0)) >= 0;
+            boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            if (formula) {
+                writer.write('\'');
+            }
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static String timestamp(ResultSet rs, int column) throws SQLException {
+        LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+        return value != null ? value.toString() : null;
+    }
+}
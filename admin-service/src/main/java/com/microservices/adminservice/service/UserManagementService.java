@@ -1,19 +1,26 @@
 package com.microservices.adminservice.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.microservices.adminservice.config.UserListingProperties;
 import com.microservices.adminservice.dto.ResetPasswordRequest;
 import com.microservices.adminservice.dto.UpdateUserRequest;
+import com.microservices.adminservice.dto.UserPageResponse;
 import com.microservices.adminservice.dto.UserResponse;
 import com.microservices.adminservice.entity.User;
 import com.microservices.adminservice.repository.UserRepository;
+import com.microservices.adminservice.repository.UserSummary;
+import com.microservices.adminservice.service.UserCursor.SortKey;
 
 @Service
 public class UserManagementService {
@@ -22,20 +29,83 @@ public class UserManagementService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserListingProperties listingProperties;
 
-    public UserManagementService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserManagementService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                 UserListingProperties listingProperties) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.listingProperties = listingProperties;
     }
 
     /**
-     * Get all users
+     * One page of users, without password hashes. The first page is ordered by
+     * {@code sort} (id, username or createdAt) and {@code direction}; later
+     * pages continue from {@code cursor}, which carries that order.
+     *
+     * @throws IllegalArgumentException for an unknown sort or direction, or an invalid cursor
      */
-    public List<UserResponse> getAllUsers() {
-        log.debug("Fetching all users");
-        return userRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public UserPageResponse getUsers(String cursor, Integer size, String sort, String direction) {
+        int pageSize = size != null ? size : listingProperties.getDefaultPageSize();
+        if (pageSize < 1 || pageSize > listingProperties.getMaxPageSize()) {
+            throw new IllegalArgumentException(
+                    "Page size must be between 1 and " + listingProperties.getMaxPageSize());
+        }
+
+        UserCursor after = cursor != null && !cursor.isBlank() ? UserCursor.decode(cursor) : null;
+        SortKey sortKey = after != null ? after.sortKey() : SortKey.of(sort != null ? sort : "id");
+        boolean descending = after != null ? after.descending() : isDescending(direction);
+        if (after != null && ((sort != null && SortKey.of(sort) != sortKey)
+                || (direction != null && isDescending(direction) != descending))) {
+            throw new IllegalArgumentException("The cursor belongs to a listing with a different sort");
+        }
+        log.debug("Fetching {} users by {} {}", pageSize, sortKey.param(), descending ? "desc" : "asc");
+
+        // One extra row tells whether another page follows
+        List<UserSummary> rows = findPage(sortKey, descending, after, PageRequest.ofSize(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        List<UserResponse> users = new ArrayList<>(rows.size());
+        for (UserSummary row : rows) {
+            users.add(mapToResponse(row));
+        }
+        String nextCursor = hasMore ? UserCursor.encode(sortKey, descending, rows.get(rows.size() - 1)) : null;
+        return new UserPageResponse(users, nextCursor, pageSize, sortKey.param(), descending ? "desc" : "asc");
+    }
+
+    private List<UserSummary> findPage(SortKey sortKey, boolean descending, UserCursor after, Pageable limit) {
+        Long id = after != null ? after.id() : null;
+        return switch (sortKey) {
+            case ID -> descending
+                    ? userRepository.findPageByIdDesc(id, limit)
+                    : userRepository.findPageByIdAsc(id, limit);
+            case USERNAME -> {
+                String username = after != null ? after.username() : null;
+                yield descending
+                        ? userRepository.findPageByUsernameDesc(username, limit)
+                        : userRepository.findPageByUsernameAsc(username, limit);
+            }
+            case CREATED_AT -> {
+                LocalDateTime createdAt = after != null ? after.createdAt() : null;
+                yield descending
+                        ? userRepository.findPageByCreatedAtDesc(createdAt, id, limit)
+                        : userRepository.findPageByCreatedAtAsc(createdAt, id, limit);
+            }
+        };
+    }
+
+    private static boolean isDescending(String direction) {
+        if (direction == null || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported direction: " + direction + " (use asc or desc)");
     }
 
     /**
@@ -150,20 +220,34 @@ public class UserManagementService {
     }
 
     /**
-     * Reset user password
+     * Reset user password. Not transactional: the hash is computed before any
+     * database access so no connection is held while it waits for the hashing pool.
      */
-    @Transactional
     public void resetPassword(Long id, ResetPasswordRequest request) {
         log.debug("Resetting password for user with ID: {}", id);
         
+        String encodedPassword = passwordEncoder.encode(request.getNewPassword());
+
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with ID: " + id));
         
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        user.setPassword(encodedPassword);
         userRepository.save(user);
         log.info("Password reset successfully for user: {}", user.getUsername());
     }
 
+    private UserResponse mapToResponse(UserSummary user) {
+        return new UserResponse(
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getRole(),
+            user.isEnabled(),
+            user.getCreatedAt(),
+            user.getUpdatedAt()
+        );
+    }
+
     /**
      * Map User entity to UserResponse DTO
      */
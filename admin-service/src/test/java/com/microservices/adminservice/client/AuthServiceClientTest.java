@@ -0,0 +1,250 @@
+package com.microservices.adminservice.client;
+
+import com.microservices.adminservice.config.AuthServiceProperties;
+import com.microservices.adminservice.dto.ValidateTokenResponse;
+import com.microservices.adminservice.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AuthServiceClientTest {
+
+    private RestTemplate restTemplate;
+    private AuthServiceProperties properties;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        registry = new SimpleMeterRegistry();
+        properties = new AuthServiceProperties();
+        properties.setUrl("http://auth-service");
+        properties.setProtocol("json");
+        properties.getBulkhead().setMaxConcurrentCalls(1);
+        properties.getBulkhead().setMaxWait(0);
+        properties.getCache().setEnabled(false);
+    }
+
+    @Test
+    void testValidResponseIsReturned() {
+        whenValidating().thenReturn(new ValidateTokenResponse(true, "alice", "Token is valid"));
+
+        ValidateTokenResponse response = client().validateToken("token");
+
+        assertTrue(response.isValid());
+        assertEquals("alice", response.getUsername());
+    }
+
+    @Test
+    void testServerErrorMapsToServiceUnavailable() {
+        whenValidating().thenThrow(HttpServerErrorException.create(
+                HttpStatus.INTERNAL_SERVER_ERROR, "boom", null, null, null));
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> client().validateToken("token"));
+        assertEquals(1, ex.getRetryAfterSeconds());
+    }
+
+    @Test
+    void testConnectionFailureMapsToServiceUnavailable() {
+        whenValidating().thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertThrows(ServiceUnavailableException.class, () -> client().validateToken("token"));
+    }
+
+    @Test
+    void testClientErrorIsAnInvalidTokenNotAnOutage() {
+        whenValidating().thenThrow(HttpClientErrorException.create(
+                HttpStatus.BAD_REQUEST, "bad", null, null, null));
+
+        assertFalse(client().validateToken("token").isValid());
+    }
+
+    @Test
+    void testFullBulkheadRejectsWithServiceUnavailable() throws Exception {
+        CountDownLatch inCall = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        whenValidating().thenAnswer(invocation -> {
+            inCall.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return new ValidateTokenResponse(true, "alice", "Token is valid");
+        });
+        AuthServiceClient client = client();
+
+        CompletableFuture<ValidateTokenResponse> first = CompletableFuture.supplyAsync(() -> client.validateToken("first"));
+        assertTrue(inCall.await(5, TimeUnit.SECONDS));
+
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> client.validateToken("second"));
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals(1.0, registry.counter("auth.client.calls", "outcome", "bulkhead_full").count());
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS).isValid());
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(ValidateTokenResponse.class));
+    }
+
+    @Test
+    void testOpenCircuitFailsFastWithoutCallingAuthService() {
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setOpenDuration(10_000);
+        whenValidating().thenThrow(new ResourceAccessException("Connection refused"));
+        AuthServiceClient client = client();
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ServiceUnavailableException.class, () -> client.validateToken("token"));
+        }
+        ServiceUnavailableException ex = assertThrows(ServiceUnavailableException.class,
+                () -> client.validateToken("token"));
+
+        assertTrue(ex.getRetryAfterSeconds() > 1 && ex.getRetryAfterSeconds() <= 10);
+        assertEquals(1.0, registry.counter("auth.client.calls", "outcome", "circuit_open").count());
+        verify(restTemplate, times(4)).postForObject(anyString(), any(), eq(ValidateTokenResponse.class));
+    }
+
+    @Test
+    void testUnexpectedExceptionInAHalfOpenTrialStillReopensTheCircuit() {
+        AtomicLong clock = new AtomicLong(1_000_000L);
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getCircuitBreaker().setOpenDuration(1000);
+        properties.getCircuitBreaker().setHalfOpenCalls(1);
+        ResourceAccessException refused = new ResourceAccessException("Connection refused");
+        whenValidating()
+                .thenThrow(refused, refused, refused, refused, new IllegalStateException("Unexpected"))
+                .thenReturn(new ValidateTokenResponse(true, "alice", "Token is valid"));
+        AuthServiceClient client = new AuthServiceClient(restTemplate,
+                new ValidationResultCache(properties, registry), properties, registry, clock::get);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(ServiceUnavailableException.class, () -> client.validateToken("token"));
+        }
+
+        clock.addAndGet(1000);
+        assertThrows(IllegalStateException.class, () -> client.validateToken("token"));
+        assertEquals(2.0, registry.get("auth.client.circuit.state").gauge().value());
+
+        clock.addAndGet(1000);
+        assertTrue(client.validateToken("token").isValid());
+        assertEquals(0.0, registry.get("auth.client.circuit.state").gauge().value());
+    }
+
+    @Test
+    void testConcurrentCallersForOneTokenShareOneRemoteCall() throws Exception {
+        ValidateTokenResponse valid = new ValidateTokenResponse(true, "alice", "Token is valid");
+        whenValidating().thenAnswer(invocation -> {
+            awaitFollowers(CALLERS - 1);
+            return valid;
+        });
+        AuthServiceClient client = client();
+
+        List<Future<ValidateTokenResponse>> results = callConcurrently(client, "token");
+
+        for (Future<ValidateTokenResponse> result : results) {
+            assertSame(valid, result.get(5, TimeUnit.SECONDS));
+        }
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(ValidateTokenResponse.class));
+        assertEquals(1.0, registry.counter("auth.client.singleflight", "role", "leader").count());
+        assertEquals(0.0, registry.get("auth.client.singleflight.inflight").gauge().value());
+    }
+
+    @Test
+    void testLeaderFailureReachesEveryFollowerAsTheSame503() throws Exception {
+        whenValidating().thenAnswer(invocation -> {
+            awaitFollowers(CALLERS - 1);
+            throw new ResourceAccessException("Connection refused");
+        });
+        AuthServiceClient client = client();
+
+        List<Future<ValidateTokenResponse>> results = callConcurrently(client, "token");
+
+        Throwable first = null;
+        for (Future<ValidateTokenResponse> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class,
+                    () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ServiceUnavailableException.class, ex.getCause());
+            if (first == null) {
+                first = ex.getCause();
+            }
+            assertSame(first, ex.getCause());
+        }
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(ValidateTokenResponse.class));
+        assertEquals(0.0, registry.get("auth.client.singleflight.inflight").gauge().value());
+    }
+
+    @Test
+    void testDifferentTokensAreNotCoalesced() {
+        whenValidating().thenReturn(new ValidateTokenResponse(true, "alice", "Token is valid"));
+        AuthServiceClient client = client();
+
+        client.validateToken("first");
+        client.validateToken("second");
+
+        verify(restTemplate, times(2)).postForObject(anyString(), any(), eq(ValidateTokenResponse.class));
+        assertEquals(0.0, registry.counter("auth.client.singleflight", "role", "follower").count());
+    }
+
+    private static final int CALLERS = 8;
+
+    /**
+     * Runs {@link #CALLERS} validations of the same token at once.
+     */
+    private List<Future<ValidateTokenResponse>> callConcurrently(AuthServiceClient client, String token)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ValidateTokenResponse>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return client.validateToken(token);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        return results;
+    }
+
+    /**
+     * Holds the leader's remote call until the other callers have joined it.
+     */
+    private void awaitFollowers(int followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.counter("auth.client.singleflight", "role", "follower").count() < followers) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the call in flight");
+            Thread.sleep(1);
+        }
+    }
+
+    private OngoingStubbing<ValidateTokenResponse> whenValidating() {
+        return when(restTemplate.postForObject(anyString(), any(), eq(ValidateTokenResponse.class)));
+    }
+
+    private AuthServiceClient client() {
+        return new AuthServiceClient(restTemplate, new ValidationResultCache(properties, registry), properties, registry);
+    }
+}
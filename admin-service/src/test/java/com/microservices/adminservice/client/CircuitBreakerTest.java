@@ -0,0 +1,166 @@
+package com.microservices.adminservice.client;
+
+import com.microservices.adminservice.config.AuthServiceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private AuthServiceProperties.CircuitBreaker properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuthServiceProperties.CircuitBreaker();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDuration(1000);
+        properties.setHalfOpenCalls(2);
+    }
+
+    @Test
+    void testOpensOnceMinimumCallsReachTheThreshold() {
+        CircuitBreaker breaker = breaker();
+
+        call(breaker, false);
+        call(breaker, false);
+        call(breaker, true);
+        // Two failures, but fewer than minimum-calls outcomes so far
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        call(breaker, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void testOnlyTheLastWindowOfCallsCounts() {
+        CircuitBreaker breaker = breaker();
+
+        call(breaker, true);
+        call(breaker, false);
+        call(breaker, false);
+        call(breaker, false);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // Replaces the oldest outcome, itself a failure: still 1 in 4
+        call(breaker, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        // Replaces a success: 2 in 4
+        call(breaker, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void testRejectsUntilTheOpenDurationHasPassed() {
+        CircuitBreaker breaker = opened();
+
+        assertEquals(1000, breaker.remainingOpenMillis());
+        advance(999);
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.remainingOpenMillis());
+
+        advance(1);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        assertEquals(0, breaker.remainingOpenMillis());
+    }
+
+    @Test
+    void testHalfOpenAdmitsOnlyTheTrialCallsThenCloses() {
+        CircuitBreaker breaker = opened();
+        advance(1000);
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testHalfOpenFailureReopens() {
+        CircuitBreaker breaker = opened();
+        advance(1000);
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(1000, breaker.remainingOpenMillis());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void testUnreportedTrialKeepsTheCircuitHalfOpen() {
+        properties.setHalfOpenCalls(1);
+        CircuitBreaker breaker = opened();
+        advance(1000);
+        assertTrue(breaker.tryAcquire());
+
+        // Callers must report every admitted call; until then nothing else gets through
+        advance(60_000);
+        assertFalse(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+
+        breaker.onFailure();
+        advance(1000);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testClosingStartsAFreshWindow() {
+        CircuitBreaker breaker = opened();
+        advance(1000);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+
+        // The failures that opened it are gone: three more are needed to reach minimum-calls
+        call(breaker, true);
+        call(breaker, true);
+        call(breaker, true);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        call(breaker, true);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private CircuitBreaker opened() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        return breaker;
+    }
+
+    private static void call(CircuitBreaker breaker, boolean fail) {
+        assertTrue(breaker.tryAcquire());
+        if (fail) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker(properties, clock::get);
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(millis);
+    }
+}
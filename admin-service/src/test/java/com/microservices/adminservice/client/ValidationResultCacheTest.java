@@ -0,0 +1,202 @@
+package com.microservices.adminservice.client;
+
+import com.microservices.adminservice.config.AuthServiceProperties;
+import com.microservices.adminservice.dto.ValidateTokenResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationResultCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private AuthServiceProperties.Cache properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuthServiceProperties.Cache();
+        properties.setMaxSize(100);
+        properties.setMaxTtl(60_000);
+        properties.setNegativeTtl(5_000);
+    }
+
+    @Test
+    void testValidResultLivesForMaxTtlWhenTheTokenOutlivesIt() {
+        ValidationResultCache cache = cache();
+        String token = jwt("{\"sub\":\"alice\",\"exp\":" + (NOW / 1000 + 3600) + "}");
+        cache.put(token, valid("alice"));
+
+        advance(59_999);
+        assertNotNull(cache.get(token));
+        advance(1);
+        assertNull(cache.get(token));
+    }
+
+    @Test
+    void testValidResultNeverOutlivesTheTokenExp() {
+        ValidationResultCache cache = cache();
+        String token = jwt("{\"sub\":\"alice\",\"exp\":" + (NOW / 1000 + 10) + "}");
+        cache.put(token, valid("alice"));
+
+        advance(9_999);
+        assertNotNull(cache.get(token));
+        advance(1);
+        assertNull(cache.get(token));
+    }
+
+    @Test
+    void testExpiresAtFromTheResponseWinsOverTheTokenPayload() {
+        ValidationResultCache cache = cache();
+        String token = jwt("{\"sub\":\"alice\",\"exp\":" + (NOW / 1000 + 3600) + "}");
+        ValidateTokenResponse result = valid("alice");
+        result.setExpiresAt(NOW + 2_000);
+        cache.put(token, result);
+
+        advance(1_999);
+        assertNotNull(cache.get(token));
+        advance(1);
+        assertNull(cache.get(token));
+    }
+
+    @Test
+    void testAlreadyExpiredTokenIsNotCached() {
+        ValidationResultCache cache = cache();
+        String token = jwt("{\"sub\":\"alice\",\"exp\":" + (NOW / 1000 - 1) + "}");
+        cache.put(token, valid("alice"));
+
+        assertNull(cache.get(token));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testInvalidResultLivesForNegativeTtl() {
+        ValidationResultCache cache = cache();
+        cache.put("garbage", new ValidateTokenResponse(false, null, "Token is invalid"));
+
+        advance(4_999);
+        assertFalse(cache.get("garbage").isValid());
+        advance(1);
+        assertNull(cache.get("garbage"));
+    }
+
+    @Test
+    void testNegativeTtlIsCappedByMaxTtl() {
+        properties.setNegativeTtl(120_000);
+        ValidationResultCache cache = cache();
+        cache.put("garbage", new ValidateTokenResponse(false, null, "Token is invalid"));
+
+        advance(60_000);
+        assertNull(cache.get("garbage"));
+    }
+
+    @Test
+    void testExpiryOfReadsTheExpClaim() {
+        assertEquals(1_700_000_123_000L, ValidationResultCache.expiryOf(jwt("{\"sub\":\"a\",\"exp\":1700000123}")));
+        assertEquals(1_700_000_123_000L, ValidationResultCache.expiryOf(jwt("{\"exp\":1700000123,\"sub\":\"a\"}")));
+    }
+
+    @Test
+    void testExpiryOfIsZeroWhenItCannotBeRead() {
+        assertEquals(0, ValidationResultCache.expiryOf(jwt("{\"sub\":\"a\"}")));
+        assertEquals(0, ValidationResultCache.expiryOf(jwt("{\"exp\":\"soon\"}")));
+        assertEquals(0, ValidationResultCache.expiryOf(jwt("{\"exp\":1700000123000}")));
+        assertEquals(0, ValidationResultCache.expiryOf("header.not*base64!.signature"));
+        assertEquals(0, ValidationResultCache.expiryOf("not-a-jwt"));
+        assertEquals(0, ValidationResultCache.expiryOf("only.one-dot"));
+        assertEquals(0, ValidationResultCache.expiryOf(""));
+    }
+
+    @Test
+    void testValidResultWithoutReadableExpUsesMaxTtl() {
+        ValidationResultCache cache = cache();
+        cache.put("opaque-token", valid("alice"));
+
+        advance(59_999);
+        assertNotNull(cache.get("opaque-token"));
+        advance(1);
+        assertNull(cache.get("opaque-token"));
+    }
+
+    @Test
+    void testFullCacheDropsExpiredEntriesFirst() {
+        properties.setMaxSize(10);
+        ValidationResultCache cache = cache();
+        for (int i = 0; i < 5; i++) {
+            cache.put("bad-" + i, new ValidateTokenResponse(false, null, "Token is invalid"));
+        }
+        advance(5_000);
+        for (int i = 0; i < 5; i++) {
+            cache.put("good-" + i, valid("user" + i));
+        }
+
+        cache.put("good-5", valid("user5"));
+
+        assertEquals(6, cache.size());
+        for (int i = 0; i <= 5; i++) {
+            assertNotNull(cache.get("good-" + i));
+        }
+    }
+
+    @Test
+    void testFullCacheStaysBounded() {
+        properties.setMaxSize(10);
+        ValidationResultCache cache = cache();
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, valid("user" + i));
+            assertTrue(cache.size() <= 10);
+        }
+        assertNotNull(cache.get("token-99"));
+    }
+
+    @Test
+    void testInvalidateUserDropsOnlyThatUser() {
+        ValidationResultCache cache = cache();
+        cache.put("alice-1", valid("alice"));
+        cache.put("alice-2", valid("alice"));
+        cache.put("bob-1", valid("bob"));
+        cache.put("garbage", new ValidateTokenResponse(false, null, "Token is invalid"));
+
+        assertEquals(2, cache.invalidateUser("alice"));
+
+        assertNull(cache.get("alice-1"));
+        assertNull(cache.get("alice-2"));
+        assertNotNull(cache.get("bob-1"));
+        assertNotNull(cache.get("garbage"));
+        assertEquals(2, cache.invalidateAll());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testDisabledCacheKeepsNothing() {
+        properties.setEnabled(false);
+        ValidationResultCache cache = cache();
+        cache.put("alice-1", valid("alice"));
+
+        assertNull(cache.get("alice-1"));
+        assertEquals(0, cache.size());
+    }
+
+    private static ValidateTokenResponse valid(String username) {
+        return new ValidateTokenResponse(true, username, "Token is valid");
+    }
+
+    private static String jwt(String payload) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"HS384\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".signature";
+    }
+
+    private ValidationResultCache cache() {
+        return new ValidationResultCache(properties, clock::get);
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(millis);
+    }
+}
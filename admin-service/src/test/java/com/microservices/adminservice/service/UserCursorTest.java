@@ -0,0 +1,86 @@
+package com.microservices.adminservice.service;
+
+import com.microservices.adminservice.repository.UserSummary;
+import com.microservices.adminservice.service.UserCursor.SortKey;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserCursorTest {
+
+    @Test
+    void testIdCursorRoundTrip() {
+        UserCursor cursor = UserCursor.decode(UserCursor.encode(SortKey.ID, true, summary(42L, "alice", null)));
+
+        assertEquals(SortKey.ID, cursor.sortKey());
+        assertTrue(cursor.descending());
+        assertEquals(42L, cursor.id());
+        assertNull(cursor.username());
+        assertNull(cursor.createdAt());
+    }
+
+    @Test
+    void testUsernameCursorKeepsCommas() {
+        String encoded = UserCursor.encode(SortKey.USERNAME, false, summary(7L, "doe, john,,", null));
+
+        UserCursor cursor = UserCursor.decode(encoded);
+
+        assertEquals(SortKey.USERNAME, cursor.sortKey());
+        assertFalse(cursor.descending());
+        assertEquals(7L, cursor.id());
+        assertEquals("doe, john,,", cursor.username());
+        assertFalse(encoded.contains("="), "cursor must be URL safe without padding");
+    }
+
+    @Test
+    void testCreatedAtCursorKeepsNanoseconds() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789);
+
+        UserCursor cursor = UserCursor.decode(UserCursor.encode(SortKey.CREATED_AT, true,
+                summary(3L, "bob", createdAt)));
+
+        assertEquals(SortKey.CREATED_AT, cursor.sortKey());
+        assertTrue(cursor.descending());
+        assertEquals(3L, cursor.id());
+        assertEquals(createdAt, cursor.createdAt());
+    }
+
+    @Test
+    void testTamperedCursorsAreRejected() {
+        assertInvalid("not base64!");
+        assertInvalid(raw("id,asc,1"));
+        assertInvalid(raw("id,sideways,1,"));
+        assertInvalid(raw("email,asc,1,a@b.c"));
+        assertInvalid(raw("id,asc,one,"));
+        assertInvalid(raw("createdAt,asc,1,yesterday"));
+    }
+
+    @Test
+    void testSortKeyIsCaseInsensitive() {
+        assertEquals(SortKey.CREATED_AT, SortKey.of("CREATEDAT"));
+        assertThrows(IllegalArgumentException.class, () -> SortKey.of("password"));
+    }
+
+    private static void assertInvalid(String cursor) {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> UserCursor.decode(cursor));
+        assertEquals("Invalid cursor", ex.getMessage());
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static UserSummary summary(Long id, String username, LocalDateTime createdAt) {
+        UserSummary summary = mock(UserSummary.class);
+        when(summary.getId()).thenReturn(id);
+        when(summary.getUsername()).thenReturn(username);
+        when(summary.getCreatedAt()).thenReturn(createdAt);
+        return summary;
+    }
+}
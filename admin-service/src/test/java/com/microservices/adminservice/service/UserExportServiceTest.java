@@ -0,0 +1,164 @@
+package com.microservices.adminservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.adminservice.config.UserExportProperties;
+import com.microservices.adminservice.controller.UserManagementController;
+import com.microservices.adminservice.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserExportServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_789);
+
+    private static final List<Object[]> ROWS = List.of(
+            new Object[] {1L, "alice", "alice@example.com", "ADMIN", true, CREATED, UPDATED},
+            new Object[] {2L, "doe, \"jj\"", "multi\nline@example.com", "USER", false, null, null},
+            new Object[] {3L, "=HYPERLINK(\"x\")", "+1@example.com", "USER", true, CREATED, null},
+            new Object[] {4L, "-dash", "@at", "USER", true, null, CREATED});
+
+    private JdbcTemplate jdbcTemplate;
+    private UserExportProperties properties;
+    private UserExportService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        properties = new UserExportProperties();
+        properties.setFlushEvery(3);
+        service = new UserExportService(jdbcTemplate, new ObjectMapper(), properties);
+
+        Object[][] current = new Object[1][];
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenAnswer(invocation -> current[0][0]);
+        when(rs.getString(anyInt())).thenAnswer(invocation -> current[0][invocation.<Integer>getArgument(0) - 1]);
+        when(rs.getBoolean(5)).thenAnswer(invocation -> current[0][4]);
+        when(rs.getObject(anyInt(), eq(LocalDateTime.class)))
+                .thenAnswer(invocation -> current[0][invocation.<Integer>getArgument(0) - 1]);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : ROWS) {
+                current[0] = row;
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void testCsvBytes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(4, service.export(UserExportFormat.CSV, out));
+
+        assertEquals("id,username,email,role,enabled,createdAt,updatedAt\r\n"
+                + "1,alice,alice@example.com,ADMIN,true,2024-01-02T03:04:05,2024-01-02T03:04:05.123456789\r\n"
+                + "2,\"doe, \"\"jj\"\"\",\"multi\nline@example.com\",USER,false,,\r\n"
+                + "3,\"'=HYPERLINK(\"\"x\"\")\",\"'+1@example.com\",USER,true,2024-01-02T03:04:05,\r\n"
+                + "4,\"'-dash\",\"'@at\",USER,true,,2024-01-02T03:04:05\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testNdjsonBytes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(4, service.export(UserExportFormat.NDJSON, out));
+
+        assertEquals("{\"id\":1,\"username\":\"alice\",\"email\":\"alice@example.com\",\"role\":\"ADMIN\","
+                + "\"enabled\":true,\"createdAt\":\"2024-01-02T03:04:05\","
+                + "\"updatedAt\":\"2024-01-02T03:04:05.123456789\"}\n"
+                + "{\"id\":2,\"username\":\"doe, \\\"jj\\\"\",\"email\":\"multi\\nline@example.com\","
+                + "\"role\":\"USER\",\"enabled\":false,\"createdAt\":null,\"updatedAt\":null}\n"
+                + "{\"id\":3,\"username\":\"=HYPERLINK(\\\"x\\\")\",\"email\":\"+1@example.com\","
+                + "\"role\":\"USER\",\"enabled\":true,\"createdAt\":\"2024-01-02T03:04:05\",\"updatedAt\":null}\n"
+                + "{\"id\":4,\"username\":\"-dash\",\"email\":\"@at\",\"role\":\"USER\",\"enabled\":true,"
+                + "\"createdAt\":null,\"updatedAt\":\"2024-01-02T03:04:05\"}\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testGzipExportDecompressesToThePlainBytes() throws IOException {
+        for (UserExportFormat format : UserExportFormat.values()) {
+            ByteArrayOutputStream plain = new ByteArrayOutputStream();
+            service.export(format, plain);
+
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            controller().exportUsers(format.getExtension(), "br;q=1.0, gzip;q=0.8", response);
+
+            assertEquals("gzip", response.getHeader("Content-Encoding"));
+            assertEquals("Accept-Encoding", response.getHeader("Vary"));
+            assertArrayEquals(plain.toByteArray(), gunzip(response.getContentAsByteArray()));
+        }
+    }
+
+    @Test
+    void testExportIsNotCompressedUnlessAccepted() throws IOException {
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        service.export(UserExportFormat.CSV, plain);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller().exportUsers("csv", "gzip;q=0", response);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertArrayEquals(plain.toByteArray(), response.getContentAsByteArray());
+    }
+
+    @Test
+    void testFailureAfterTheFirstRowsAbortsTheResponse() throws Exception {
+        properties.setFlushEvery(1);
+        DataAccessResourceFailureException failure = new DataAccessResourceFailureException("Connection lost");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getLong(1)).thenReturn(1L);
+            handler.processRow(rs);
+            throw failure;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        service = new UserExportService(jdbcTemplate, new ObjectMapper(), properties);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setBufferSize(16);
+        assertSame(failure, assertThrows(DataAccessResourceFailureException.class,
+                () -> controller().exportUsers("csv", null, response)));
+
+        assertTrue(response.isCommitted());
+        assertTrue(response.getContentAsString()
+                .startsWith("id,username,email,role,enabled,createdAt,updatedAt\r\n1,"));
+        // The error body is not appended to the rows already sent either
+        assertSame(failure, assertThrows(DataAccessResourceFailureException.class,
+                () -> new GlobalExceptionHandler().handleRuntimeException(failure, response)));
+    }
+
+    private UserManagementController controller() {
+        return new UserManagementController(null, service, null, null);
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
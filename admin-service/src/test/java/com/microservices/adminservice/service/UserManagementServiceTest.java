@@ -0,0 +1,126 @@
+package com.microservices.adminservice.service;
+
+import com.microservices.adminservice.config.UserListingProperties;
+import com.microservices.adminservice.controller.UserManagementController;
+import com.microservices.adminservice.dto.UserPageResponse;
+import com.microservices.adminservice.repository.UserRepository;
+import com.microservices.adminservice.repository.UserSummary;
+import com.microservices.adminservice.service.UserCursor.SortKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.microservices.adminservice.service.UserCursorTest.summary;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserManagementServiceTest {
+
+    private UserRepository userRepository;
+    private UserListingProperties properties;
+    private UserManagementService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        properties = new UserListingProperties();
+        properties.setDefaultPageSize(3);
+        properties.setMaxPageSize(10);
+        service = new UserManagementService(userRepository, mock(PasswordEncoder.class), properties);
+    }
+
+    @Test
+    void testExtraRowMeansAnotherPage() {
+        List<UserSummary> rows = rows(1, 4);
+        when(userRepository.findPageByIdAsc(null, PageRequest.ofSize(4))).thenReturn(rows);
+
+        UserPageResponse page = service.getUsers(null, null, null, null);
+
+        assertEquals(3, page.getUsers().size());
+        assertEquals(3L, page.getUsers().get(2).getId());
+        assertTrue(page.isHasMore());
+        assertEquals(3L, UserCursor.decode(page.getNextCursor()).id());
+        assertEquals("id", page.getSort());
+        assertEquals("asc", page.getDirection());
+    }
+
+    @Test
+    void testFullPageWithoutExtraRowIsTheLast() {
+        List<UserSummary> rows = rows(1, 3);
+        when(userRepository.findPageByIdAsc(null, PageRequest.ofSize(4))).thenReturn(rows);
+
+        UserPageResponse page = service.getUsers(null, null, null, null);
+
+        assertEquals(3, page.getUsers().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testCursorContinuesInItsOwnOrder() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 500);
+        String cursor = UserCursor.encode(SortKey.CREATED_AT, true, summary(9L, "zed", createdAt));
+        List<UserSummary> rows = rows(10, 11);
+        when(userRepository.findPageByCreatedAtDesc(createdAt, 9L, PageRequest.ofSize(3))).thenReturn(rows);
+
+        UserPageResponse page = service.getUsers(cursor, 2, "createdAt", "DESC");
+
+        assertEquals(2, page.getUsers().size());
+        assertFalse(page.isHasMore());
+        assertEquals("createdAt", page.getSort());
+        assertEquals("desc", page.getDirection());
+    }
+
+    @Test
+    void testUsernameCursorIsPassedToTheQuery() {
+        String cursor = UserCursor.encode(SortKey.USERNAME, false, summary(5L, "doe, john", null));
+        when(userRepository.findPageByUsernameAsc("doe, john", PageRequest.ofSize(4))).thenReturn(List.of());
+
+        UserPageResponse page = service.getUsers(cursor, null, null, null);
+
+        assertTrue(page.getUsers().isEmpty());
+        verify(userRepository).findPageByUsernameAsc("doe, john", PageRequest.ofSize(4));
+    }
+
+    @Test
+    void testTamperedCursorIsBadRequest() {
+        assertBadRequest("Zm9vLGJhcg", null, null, null);
+    }
+
+    @Test
+    void testCursorWithADifferentSortIsBadRequest() {
+        String cursor = UserCursor.encode(SortKey.USERNAME, false, summary(5L, "alice", null));
+
+        assertBadRequest(cursor, null, "id", null);
+        assertBadRequest(cursor, null, null, "desc");
+    }
+
+    @Test
+    void testOutOfRangeSizeIsBadRequest() {
+        assertBadRequest(null, 0, null, null);
+        assertBadRequest(null, 11, null, null);
+        assertBadRequest(null, null, "password", null);
+        assertBadRequest(null, null, null, "sideways");
+        verifyNoInteractions(userRepository);
+    }
+
+    private void assertBadRequest(String cursor, Integer size, String sort, String direction) {
+        assertThrows(IllegalArgumentException.class, () -> service.getUsers(cursor, size, sort, direction));
+        UserManagementController controller = new UserManagementController(service, null, null, null);
+        assertEquals(HttpStatus.BAD_REQUEST, controller.getUsers(cursor, size, sort, direction).getStatusCode());
+    }
+
+    private static List<UserSummary> rows(long firstId, long lastId) {
+        List<UserSummary> rows = new ArrayList<>();
+        for (long id = firstId; id <= lastId; id++) {
+            rows.add(summary(id, "user" + id, LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(id)));
+        }
+        return rows;
+    }
+}
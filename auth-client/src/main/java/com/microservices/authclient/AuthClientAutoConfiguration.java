@@ -0,0 +1,62 @@
+package com.microservices.authclient;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Provides a {@link TokenVerifier} and a {@link JwtAuthenticationFilter} to
+ * servlet applications that have this module on the classpath. Switched off
+ * with {@code auth-client.enabled: false}.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "auth-client", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AuthClientProperties.class)
+public class AuthClientAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenVerifier tokenVerifier(AuthClientProperties properties,
+                                       ObjectProvider<RemoteTokenVerifier> remoteTokenVerifier,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        RemoteTokenVerifier remote = null;
+        if (properties.isRemoteFallback()) {
+            remote = remoteTokenVerifier.getIfAvailable();
+            if (remote == null) {
+                throw new IllegalStateException("auth-client.remote-fallback needs a RemoteTokenVerifier bean");
+            }
+        }
+        return new TokenVerifier(properties, remote, meterRegistry.getIfUnique(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JwtAuthenticationFilter jwtAuthenticationFilter(
+            TokenVerifier tokenVerifier,
+            @Qualifier("handlerExceptionResolver") ObjectProvider<HandlerExceptionResolver> exceptionResolver) {
+        return new JwtAuthenticationFilter(tokenVerifier, exceptionResolver.getIfAvailable());
+    }
+
+    /**
+     * The filter runs inside the security chain only, not a second time as a servlet filter.
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(
+            JwtAuthenticationFilter jwtAuthenticationFilter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+}
@@ -0,0 +1,127 @@
+package com.microservices.authclient;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the {@code auth-client} module. Keys mirror Auth Service's
+ * {@code jwt.*}: {@code secret} (and {@code keys} for a keyring) verify
+ * {@code HS256} tokens, {@code jwks.uri} verifies {@code ES256}/{@code EdDSA}
+ * tokens against the published key set.
+ */
+@ConfigurationProperties(prefix = "auth-client")
+public class AuthClientProperties {
+    private boolean enabled = true;
+    private String secret;
+    private Map<String, String> keys = new HashMap<>();
+    private Jwks jwks = new Jwks();
+    private long clockSkew = 30;
+    private boolean remoteFallback = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Base64 HMAC secret for tokens without a {@code kid}; same value as Auth Service's {@code jwt.secret}.
+     */
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    /**
+     * Base64 HMAC secrets by key id, for tokens signed from Auth Service's {@code jwt.keys}.
+     */
+    public Map<String, String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(Map<String, String> keys) {
+        this.keys = keys;
+    }
+
+    public Jwks getJwks() {
+        return jwks;
+    }
+
+    public void setJwks(Jwks jwks) {
+        this.jwks = jwks;
+    }
+
+    /**
+     * Tolerated clock difference for {@code exp}/{@code nbf}, in seconds.
+     */
+    public long getClockSkew() {
+        return clockSkew;
+    }
+
+    public void setClockSkew(long clockSkew) {
+        this.clockSkew = clockSkew;
+    }
+
+    /**
+     * Ask a {@link RemoteTokenVerifier} when a token's key is not known locally.
+     */
+    public boolean isRemoteFallback() {
+        return remoteFallback;
+    }
+
+    public void setRemoteFallback(boolean remoteFallback) {
+        this.remoteFallback = remoteFallback;
+    }
+
+    public static class Jwks {
+        private String uri;
+        private long refreshInterval = 300000;
+        private long minRefreshInterval = 30000;
+        private long timeout = 2000;
+
+        public String getUri() {
+            return uri;
+        }
+
+        public void setUri(String uri) {
+            this.uri = uri;
+        }
+
+        /**
+         * Age in milliseconds after which the key set is fetched again.
+         */
+        public long getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(long refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        /**
+         * Minimum milliseconds between fetches triggered by unknown key ids.
+         */
+        public long getMinRefreshInterval() {
+            return minRefreshInterval;
+        }
+
+        public void setMinRefreshInterval(long minRefreshInterval) {
+            this.minRefreshInterval = minRefreshInterval;
+        }
+
+        public long getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(long timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.microservices.authclient;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * The caller described by a verified token; the principal of the
+ * {@code Authentication} set by {@link JwtAuthenticationFilter}.
+ */
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+    private final String username;
+    private final Long userId;
+    private final String role;
+    private final Instant expiresAt;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(String username, Long userId, String role, Instant expiresAt,
+                             List<GrantedAuthority> authorities) {
+        this.username = username;
+        this.userId = userId;
+        this.role = role;
+        this.expiresAt = expiresAt;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    /**
+     * A user whose only authority is {@code ROLE_<role>}, as Auth Service grants it.
+     */
+    public AuthenticatedUser(String username, Long userId, String role, Instant expiresAt) {
+        this(username, userId, role, expiresAt,
+                role != null ? List.of(new SimpleGrantedAuthority("ROLE_" + role)) : List.of());
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Null for tokens issued before user ids were added to the claims.
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{username='" + username + "', role='" + role + "'}";
+    }
+}
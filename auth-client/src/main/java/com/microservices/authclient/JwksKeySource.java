@@ -0,0 +1,148 @@
+package com.microservices.authclient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+
+/**
+ * Public keys from Auth Service's JWK set, fetched on first use and again
+ * once they are older than {@code refresh-interval} (conditionally, with the
+ * last {@code ETag}). An unknown key id triggers an early fetch, at most once
+ * per {@code min-refresh-interval}, so a key rotation is picked up without
+ * letting garbage tokens hammer Auth Service. A failed fetch keeps the keys
+ * already known.
+ * <p>
+ * One thread fetches at a time; while it does, others keep using the known
+ * keys unless the one they need is missing.
+ */
+final class JwksKeySource {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeySource.class);
+
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final Duration timeout;
+    private final long refreshMillis;
+    private final long minRefreshMillis;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long fetchedAt;
+    private volatile long attemptedAt;
+    private volatile boolean attempted;
+    private String eTag;
+
+    JwksKeySource(AuthClientProperties.Jwks properties, LongSupplier clock) {
+        this.uri = URI.create(properties.getUri());
+        this.timeout = Duration.ofMillis(properties.getTimeout());
+        this.refreshMillis = properties.getRefreshInterval();
+        this.minRefreshMillis = properties.getMinRefreshInterval();
+        this.clock = clock;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * The key with the given id (or the only key, when the token has no id),
+     * or null if the key set does not have it.
+     */
+    PublicKey get(String keyId) {
+        PublicKey key = find(keyId);
+        long now = clock.getAsLong();
+        if (key != null) {
+            if (now - fetchedAt >= refreshMillis && lock.tryLock()) {
+                try {
+                    refresh(now);
+                } finally {
+                    lock.unlock();
+                }
+                PublicKey refreshed = find(keyId);
+                return refreshed != null ? refreshed : key;
+            }
+            return key;
+        }
+
+        lock.lock();
+        try {
+            key = find(keyId);
+            if (key == null && (!attempted || now - attemptedAt >= minRefreshMillis)) {
+                refresh(now);
+                key = find(keyId);
+            }
+            return key;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    private PublicKey find(String keyId) {
+        Map<String, PublicKey> current = keys;
+        if (keyId != null) {
+            return current.get(keyId);
+        }
+        return current.size() == 1 ? current.values().iterator().next() : null;
+    }
+
+    private void refresh(long now) {
+        attempted = true;
+        attemptedAt = now;
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (eTag != null) {
+            request.header("If-None-Match", eTag);
+        }
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 304) {
+                fetchedAt = now;
+                return;
+            }
+            if (response.statusCode() != 200) {
+                log.warn("Could not fetch JWK set from {}: HTTP {}", uri, response.statusCode());
+                return;
+            }
+            keys = parse(response.body());
+            eTag = response.headers().firstValue("ETag").orElse(null);
+            fetchedAt = now;
+            log.debug("Loaded {} public key(s) from {}", keys.size(), uri);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not fetch JWK set from {}: {}", uri, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static Map<String, PublicKey> parse(String json) {
+        JwkSet set = Jwks.setParser().build().parse(json);
+        Map<String, PublicKey> parsed = new HashMap<>();
+        for (Jwk<?> jwk : set.getKeys()) {
+            if (jwk instanceof PublicJwk<?> publicJwk && publicJwk.getId() != null) {
+                parsed.put(publicJwk.getId(), publicJwk.toKey());
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+}
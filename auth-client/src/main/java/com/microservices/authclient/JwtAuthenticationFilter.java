@@ -0,0 +1,64 @@
+package com.microservices.authclient;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates {@code Authorization: Bearer} requests with the
+ * {@link TokenVerifier}. Add it to the service's security chain, e.g.
+ * {@code http.addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class)};
+ * the auto-configuration keeps it out of the plain servlet filter chain.
+ * <p>
+ * Invalid or missing tokens leave the request unauthenticated, so the
+ * chain's authorization rules decide (typically 401). Exceptions from a
+ * remote fallback go to the MVC exception resolvers, so the service's
+ * {@code @RestControllerAdvice} answers them as it would in a controller.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenVerifier tokenVerifier;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final SecurityContextHolderStrategy contextHolder = SecurityContextHolder.getContextHolderStrategy();
+
+    public JwtAuthenticationFilter(TokenVerifier tokenVerifier, HandlerExceptionResolver exceptionResolver) {
+        this.tokenVerifier = tokenVerifier;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            Authentication authentication;
+            try {
+                authentication = tokenVerifier.authenticate(header.substring(BEARER.length()));
+            } catch (RuntimeException e) {
+                if (exceptionResolver != null && exceptionResolver.resolveException(request, response, null, e) != null) {
+                    return;
+                }
+                throw e;
+            }
+            if (authentication != null) {
+                SecurityContext context = contextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                contextHolder.setContext(context);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,16 @@
+package com.microservices.authclient;
+
+/**
+ * Asks Auth Service about a token that cannot be verified locally. Only used
+ * with {@code auth-client.remote-fallback: true}; the service provides the bean.
+ */
+@FunctionalInterface
+public interface RemoteTokenVerifier {
+
+    /**
+     * Returns the token's user, or null if Auth Service rejects the token.
+     * Throws if Auth Service cannot be asked; the exception is resolved like
+     * one thrown by a controller.
+     */
+    AuthenticatedUser verify(String token);
+}
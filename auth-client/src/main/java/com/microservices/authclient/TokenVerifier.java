@@ -0,0 +1,150 @@
+package com.microservices.authclient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Verifies Auth Service tokens in-process: signature, {@code exp}/{@code nbf}
+ * (with {@code clock-skew}) and the claims Auth Service writes ({@code sub},
+ * {@code uid}, {@code role}, {@code authorities}). The {@code authorities}
+ * claim becomes the granted authorities; tokens without it get
+ * {@code ROLE_<role>}.
+ * <p>
+ * Only a token whose key is not known locally goes to the
+ * {@link RemoteTokenVerifier}, and only if one is configured; a token that
+ * fails verification against a known key is rejected here. Local checks
+ * cannot see logouts or deactivations, which therefore take effect when the
+ * token expires.
+ * <p>
+ * Metrics: {@code auth.client.verification{path=local|remote,result=valid|invalid|error}}.
+ */
+public class TokenVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVerifier.class);
+
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_AUTHORITIES = "authorities";
+
+    private final JwtParser parser;
+    private final RemoteTokenVerifier remote;
+
+    private final Timer localValid;
+    private final Timer localInvalid;
+    private final Timer remoteValid;
+    private final Timer remoteInvalid;
+    private final Timer remoteError;
+
+    public TokenVerifier(AuthClientProperties properties, RemoteTokenVerifier remote, MeterRegistry registry) {
+        this(new VerificationKeys(properties, properties.getJwks().getUri() != null
+                ? new JwksKeySource(properties.getJwks(), System::currentTimeMillis)
+                : null), properties.getClockSkew(), remote, registry);
+    }
+
+    TokenVerifier(VerificationKeys keys, long clockSkewSeconds, RemoteTokenVerifier remote, MeterRegistry registry) {
+        if (keys.isEmpty() && remote == null) {
+            throw new IllegalStateException(
+                    "auth-client needs auth-client.secret, auth-client.keys, auth-client.jwks.uri or a remote fallback");
+        }
+        this.parser = Jwts.parser()
+                .keyLocator(keys)
+                .clockSkewSeconds(clockSkewSeconds)
+                .build();
+        this.remote = remote;
+
+        this.localValid = timer(registry, "local", "valid");
+        this.localInvalid = timer(registry, "local", "invalid");
+        this.remoteValid = timer(registry, "remote", "valid");
+        this.remoteInvalid = timer(registry, "remote", "invalid");
+        this.remoteError = timer(registry, "remote", "error");
+    }
+
+    /**
+     * Returns an authenticated {@link Authentication} whose principal is an
+     * {@link AuthenticatedUser}, or null if the token is not valid.
+     */
+    public Authentication authenticate(String token) {
+        AuthenticatedUser user = verify(token);
+        return user != null
+                ? UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities())
+                : null;
+    }
+
+    /**
+     * Returns the token's user, or null if the token is not valid.
+     */
+    public AuthenticatedUser verify(String token) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            AuthenticatedUser user = toUser(claims);
+            (user != null ? localValid : localInvalid).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return user;
+        } catch (VerificationKeys.UnknownKeyException e) {
+            if (remote == null) {
+                log.debug("Token rejected: {}", e.getMessage());
+                localInvalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return null;
+            }
+            return verifyRemotely(token, start);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token rejected: {}", e.getMessage());
+            localInvalid.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+    }
+
+    private AuthenticatedUser verifyRemotely(String token, long start) {
+        Timer timer = remoteError;
+        try {
+            AuthenticatedUser user = remote.verify(token);
+            timer = user != null ? remoteValid : remoteInvalid;
+            return user;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static AuthenticatedUser toUser(Claims claims) {
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            return null;
+        }
+        Object uid = claims.get(CLAIM_USER_ID);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Long userId = uid instanceof Number number ? number.longValue() : null;
+
+        if (!(claims.get(CLAIM_AUTHORITIES) instanceof List<?> names)) {
+            return new AuthenticatedUser(claims.getSubject(), userId, role, claims.getExpiration().toInstant());
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(names.size());
+        for (Object name : names) {
+            if (name instanceof String authority) {
+                authorities.add(new SimpleGrantedAuthority(authority));
+            }
+        }
+        return new AuthenticatedUser(claims.getSubject(), userId, role, claims.getExpiration().toInstant(),
+                authorities);
+    }
+
+    private static Timer timer(MeterRegistry registry, String path, String result) {
+        return Timer.builder("auth.client.verification")
+                .tag("path", path)
+                .tag("result", result)
+                .register(registry);
+    }
+}
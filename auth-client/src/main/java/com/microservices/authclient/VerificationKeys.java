@@ -0,0 +1,69 @@
+package com.microservices.authclient;
+
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Picks the verification key from the token header, the same way Auth
+ * Service's own {@code JwtKeys} does: {@code HS*} tokens use the keyring entry
+ * named by {@code kid}, or the shared secret when there is none; other
+ * algorithms use the JWK set. The key family follows the header's
+ * {@code alg}, so an HMAC token can never be checked against a public key.
+ */
+final class VerificationKeys implements Locator<Key> {
+
+    /**
+     * No key for this token is configured or published; the token may still
+     * be valid, so a remote fallback can decide.
+     */
+    static final class UnknownKeyException extends JwtException {
+        UnknownKeyException(String message) {
+            super(message);
+        }
+    }
+
+    private final SecretKey secret;
+    private final Map<String, SecretKey> keyring;
+    private final JwksKeySource jwks;
+
+    VerificationKeys(AuthClientProperties properties, JwksKeySource jwks) {
+        this.secret = properties.getSecret() != null && !properties.getSecret().isBlank()
+                ? Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.getSecret()))
+                : null;
+        Map<String, SecretKey> keys = new HashMap<>();
+        properties.getKeys().forEach((id, value) -> keys.put(id, Keys.hmacShaKeyFor(Decoders.BASE64.decode(value))));
+        this.keyring = Map.copyOf(keys);
+        this.jwks = jwks;
+    }
+
+    boolean isEmpty() {
+        return secret == null && keyring.isEmpty() && jwks == null;
+    }
+
+    @Override
+    public Key locate(Header header) {
+        String alg = header.getAlgorithm();
+        String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        Key key;
+        if (alg != null && alg.startsWith("HS")) {
+            key = kid != null ? keyring.get(kid) : secret;
+        } else {
+            key = jwks != null ? jwks.get(kid) : null;
+        }
+        if (key == null) {
+            throw new UnknownKeyException("No " + alg + " key" + (kid != null ? " with id " + kid : "")
+                    + " is known locally");
+        }
+        return key;
+    }
+}
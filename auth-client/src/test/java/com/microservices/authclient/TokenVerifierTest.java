@@ -0,0 +1,214 @@
+package com.microservices.authclient;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.crypto.SecretKey;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenVerifierTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private TokenVerifier verifier(RemoteTokenVerifier remote) {
+        AuthClientProperties properties = new AuthClientProperties();
+        properties.setSecret(SECRET);
+        return new TokenVerifier(properties, remote, registry);
+    }
+
+    private static String token(String subject, Instant expiresAt) {
+        return Jwts.builder()
+                .subject(subject)
+                .claim("uid", 7L)
+                .claim("role", "ADMIN")
+                .claim("authorities", List.of("ROLE_ADMIN"))
+                .issuedAt(new Date())
+                .expiration(Date.from(expiresAt))
+                .signWith(KEY)
+                .compact();
+    }
+
+    @Test
+    void testVerifiesLocallyAndMapsAuthorities() {
+        TokenVerifier verifier = verifier(null);
+
+        Authentication authentication = verifier.authenticate(token("admin", Instant.now().plusSeconds(60)));
+
+        assertNotNull(authentication);
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("admin", authentication.getName());
+        assertEquals("ROLE_ADMIN", authentication.getAuthorities().iterator().next().getAuthority());
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        assertEquals(7L, user.getUserId());
+        assertEquals("ADMIN", user.getRole());
+        assertEquals(1, registry.get("auth.client.verification").tags("path", "local", "result", "valid").timer().count());
+    }
+
+    @Test
+    void testRoleClaimAloneBecomesAuthority() {
+        String token = Jwts.builder()
+                .subject("ivan")
+                .claim("role", "USER")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(KEY)
+                .compact();
+
+        AuthenticatedUser user = verifier(null).verify(token);
+
+        assertEquals("ROLE_USER", user.getAuthorities().get(0).getAuthority());
+        assertNull(user.getUserId());
+    }
+
+    @Test
+    void testRejectsForgedExpiredAndUnboundedTokens() {
+        TokenVerifier verifier = verifier(null);
+        String forged = Jwts.builder()
+                .subject("admin")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(Jwts.SIG.HS256.key().build())
+                .compact();
+        String noExpiry = Jwts.builder().subject("admin").signWith(KEY).compact();
+
+        assertNull(verifier.verify(forged));
+        assertNull(verifier.verify(token("admin", Instant.now().minusSeconds(120))));
+        assertNull(verifier.verify(noExpiry));
+        assertNull(verifier.verify("not-a-token"));
+        assertNotNull(verifier.verify(token("admin", Instant.now().minusSeconds(10))), "within clock skew");
+    }
+
+    @Test
+    void testOnlyUnknownKeysFallBackToRemote() {
+        AtomicInteger remoteCalls = new AtomicInteger();
+        TokenVerifier verifier = verifier(token -> {
+            remoteCalls.incrementAndGet();
+            return new AuthenticatedUser("remote", 1L, "ADMIN", null);
+        });
+        String unknownKid = Jwts.builder()
+                .header().keyId("k9").and()
+                .subject("admin")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(KEY)
+                .compact();
+        String forged = Jwts.builder()
+                .subject("admin")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(Jwts.SIG.HS256.key().build())
+                .compact();
+
+        assertEquals("remote", verifier.verify(unknownKid).getUsername());
+        assertNull(verifier.verify(forged));
+        assertEquals(1, remoteCalls.get());
+        assertNull(verifier(null).verify(unknownKid));
+    }
+
+    @Test
+    void testVerifiesAsymmetricTokensAgainstJwks() throws Exception {
+        KeyPair first = Jwts.SIG.ES256.keyPair().build();
+        KeyPair second = Jwts.SIG.ES256.keyPair().build();
+        AtomicReference<String> jwks = new AtomicReference<>(jwks(first, "k1"));
+        AtomicInteger fetches = new AtomicInteger();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/jwks", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = jwks.get().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            AuthClientProperties properties = new AuthClientProperties();
+            properties.getJwks().setUri("http://127.0.0.1:" + server.getAddress().getPort() + "/jwks");
+            properties.getJwks().setMinRefreshInterval(0);
+            TokenVerifier verifier = new TokenVerifier(properties, null, registry);
+
+            assertEquals("admin", verifier.verify(signed(first, "k1")).getUsername());
+            assertEquals("admin", verifier.verify(signed(first, "k1")).getUsername());
+            assertEquals(1, fetches.get());
+
+            // Rotation: an unknown kid triggers a fetch of the new key set
+            jwks.set(jwks(second, "k2"));
+            assertEquals("admin", verifier.verify(signed(second, "k2")).getUsername());
+            assertEquals(2, fetches.get());
+
+            // A public key never verifies an HMAC token, even one carrying its kid
+            String confused = Jwts.builder().header().keyId("k2").and()
+                    .subject("admin").expiration(Date.from(Instant.now().plusSeconds(60)))
+                    .signWith(KEY).compact();
+            assertNull(verifier.verify(confused));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testFilterSetsAuthenticationAndResolvesRemoteFailures() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(verifier(null), null);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/users");
+        request.addHeader("Authorization", "Bearer " + token("admin", Instant.now().plusSeconds(60)));
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                seen.set(SecurityContextHolder.getContext().getAuthentication()));
+        SecurityContextHolder.clearContext();
+
+        assertEquals("admin", seen.get().getName());
+
+        String unknownKid = Jwts.builder().header().keyId("k9").and()
+                .subject("admin").expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(KEY).compact();
+        JwtAuthenticationFilter failing = new JwtAuthenticationFilter(
+                verifier(token -> { throw new IllegalStateException("Auth Service is unavailable"); }),
+                (req, res, handler, ex) -> {
+                    res.setStatus(503);
+                    return new ModelAndView();
+                });
+        MockHttpServletRequest remoteRequest = new MockHttpServletRequest("GET", "/api/admin/users");
+        remoteRequest.addHeader("Authorization", "Bearer " + unknownKid);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        failing.doFilter(remoteRequest, response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertNull(chain.getRequest(), "chain must not continue");
+    }
+
+    private static String jwks(KeyPair keyPair, String keyId) {
+        return "{\"keys\":[" + Jwks.json(Jwks.builder().key(keyPair.getPublic()).id(keyId).build()) + "]}";
+    }
+
+    private static String signed(KeyPair keyPair, String keyId) {
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .subject("admin")
+                .claim("role", "ADMIN")
+                .expiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+}
@@ -11,5 +11,12 @@ public final class AuthRoutes {
     public static final String REGISTER = "/register";
     public static final String LOGIN = "/login";
     public static final String VALIDATE = "/validate";
+    public static final String VALIDATE_BATCH = "/validate/batch";
+    public static final String VALIDATE_BINARY = "/validate/binary";
+    public static final String REFRESH = "/refresh";
+    public static final String LOGOUT = "/logout";
     public static final String HEALTH = "/health";
+    public static final String IMPORT = "/users/import";
+    public static final String VALIDATION_CACHE = "/validation-cache";
+    public static final String JWKS = "/.well-known/jwks.json";
 }
@@ -0,0 +1,111 @@
+package com.microservices.authservice.api;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.microservices.authservice.security.VerifiedToken;
+
+/**
+ * Compact binary framing of {@link AuthRoutes#VALIDATE_BINARY}, the internal
+ * validation channel used by other services instead of the JSON endpoint.
+ * All integers are big-endian.
+ *
+ * <pre>
+ * request:  u8 version, u16 count, count x (u16 length, ASCII token)
+ * response: u8 version, u16 count, count x result
+ * result:   u8 status (0 invalid, 1 valid); when valid:
+ *           i64 user id (-1 if absent), i64 expiry epoch millis (0 if absent),
+ *           u8 length + UTF-8 role, u16 length + UTF-8 username
+ * </pre>
+ */
+public final class ValidationWire {
+
+    private ValidationWire() {
+        // Utility class
+    }
+
+    public static final String CONTENT_TYPE = "application/x-auth-validation";
+    public static final byte VERSION = 1;
+    public static final int MAX_TOKENS = 1000;
+
+    static final byte INVALID = 0;
+    static final byte VALID = 1;
+
+    /**
+     * Returns the tokens of a request frame, or null if the frame is
+     * malformed, has an unknown version or carries no tokens.
+     */
+    public static List<String> decodeRequest(byte[] body, int length) {
+        ByteBuffer in = ByteBuffer.wrap(body, 0, length);
+        try {
+            if (in.get() != VERSION) {
+                return null;
+            }
+            int count = Short.toUnsignedInt(in.getShort());
+            if (count == 0 || count > MAX_TOKENS) {
+                return null;
+            }
+            List<String> tokens = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int tokenLength = Short.toUnsignedInt(in.getShort());
+                tokens.add(new String(body, in.position(), tokenLength, StandardCharsets.US_ASCII));
+                in.position(in.position() + tokenLength);
+            }
+            return in.hasRemaining() ? null : tokens;
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Encodes one result per token, in order; null entries are invalid tokens.
+     */
+    public static byte[] encodeResults(List<VerifiedToken> results) {
+        byte[][] roles = new byte[results.size()][];
+        byte[][] usernames = new byte[results.size()][];
+        int size = 3;
+        for (int i = 0; i < results.size(); i++) {
+            VerifiedToken token = results.get(i);
+            size += 1;
+            if (token != null) {
+                roles[i] = utf8(token.getRole(), 0xff);
+                usernames[i] = utf8(token.getSubject(), 0xffff);
+                size += 8 + 8 + 1 + roles[i].length + 2 + usernames[i].length;
+            }
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.put(VERSION);
+        out.putShort((short) results.size());
+        for (int i = 0; i < results.size(); i++) {
+            VerifiedToken token = results.get(i);
+            if (token == null) {
+                out.put(INVALID);
+                continue;
+            }
+            Long userId = token.getUserId();
+            out.put(VALID);
+            out.putLong(userId != null ? userId : -1L);
+            out.putLong(token.getExpiration() != null ? token.getExpiration().toEpochMilli() : 0L);
+            out.put((byte) roles[i].length);
+            out.put(roles[i]);
+            out.putShort((short) usernames[i].length);
+            out.put(usernames[i]);
+        }
+        return out.array();
+    }
+
+    private static byte[] utf8(String value, int maxLength) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxLength) {
+            throw new IllegalArgumentException("Value too long for the validation frame");
+        }
+        return bytes;
+    }
+}
@@ -1,15 +1,21 @@
 package com.microservices.authservice.config;
 
+import com.microservices.authservice.entity.User;
 import com.microservices.authservice.repository.UserRepository;
+import com.microservices.authservice.security.BoundedPasswordEncoder;
+import com.microservices.authservice.security.PasswordEncoderFactory;
+import com.microservices.authservice.security.TimedDaoAuthenticationProvider;
+import com.microservices.authservice.service.LoginMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
@@ -27,11 +33,28 @@ public class ApplicationConfig {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
+    /**
+     * Called after a successful login whose stored hash uses an outdated
+     * algorithm or cost. The update only applies if the hash has not been
+     * changed in the meantime (e.g. by an admin reset).
+     */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            User user = (User) userDetails;
+            if (userRepository.updatePassword(user.getId(), user.getPassword(), newPassword) == 1) {
+                user.setPassword(newPassword);
+            }
+            return user;
+        };
+    }
+
+    @Bean
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder, LoginMetrics loginMetrics) {
+        DaoAuthenticationProvider authProvider = new TimedDaoAuthenticationProvider(loginMetrics);
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
@@ -40,8 +63,18 @@ public class ApplicationConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt runs on its own bounded pool so a login burst cannot take every
+     * request thread; see {@link BoundedPasswordEncoder}.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(
+                PasswordEncoderFactory.create(properties),
+                properties.getThreads(),
+                properties.getQueueCapacity(),
+                properties.getRetryAfter(),
+                meterRegistry
+        );
     }
 }
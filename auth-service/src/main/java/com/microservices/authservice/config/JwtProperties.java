@@ -2,11 +2,22 @@ package com.microservices.authservice.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "jwt")
 public class JwtProperties {
     private String secret;
     private Long expiration;
+    private Long refreshExpiration = 2592000000L;
+    private List<HmacKey> keys = new ArrayList<>();
+    private String activeKeyId;
+    private boolean statelessAuthentication = false;
+    private Cache cache = new Cache();
+    private Signing signing = new Signing();
+    private Validation validation = new Validation();
 
     public String getSecret() {
         return secret;
@@ -23,4 +34,217 @@ public class JwtProperties {
     public void setExpiration(Long expiration) {
         this.expiration = expiration;
     }
+
+    public Long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    public void setRefreshExpiration(Long refreshExpiration) {
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    public List<HmacKey> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(List<HmacKey> keys) {
+        this.keys = keys;
+    }
+
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    public void setActiveKeyId(String activeKeyId) {
+        this.activeKeyId = activeKeyId;
+    }
+
+    public boolean isStatelessAuthentication() {
+        return statelessAuthentication;
+    }
+
+    public void setStatelessAuthentication(boolean statelessAuthentication) {
+        this.statelessAuthentication = statelessAuthentication;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public Signing getSigning() {
+        return signing;
+    }
+
+    public void setSigning(Signing signing) {
+        this.signing = signing;
+    }
+
+    public Validation getValidation() {
+        return validation;
+    }
+
+    public void setValidation(Validation validation) {
+        this.validation = validation;
+    }
+
+    /**
+     * One entry of the HMAC keyring. A key with {@code retiredAt} set is no
+     * longer used for signing and stops verifying once every token it could
+     * have signed has expired.
+     */
+    public static class HmacKey {
+        private String id;
+        private String secret;
+        private Instant retiredAt;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public Instant getRetiredAt() {
+            return retiredAt;
+        }
+
+        public void setRetiredAt(Instant retiredAt) {
+            this.retiredAt = retiredAt;
+        }
+    }
+
+    public static class Cache {
+        private boolean enabled = true;
+        private int maxSize = 10000;
+        private Long ttl = 300000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Long getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Long ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    public static class Signing {
+        private String algorithm = "HS256";
+        private String keyId;
+        private String privateKey;
+        private String publicKey;
+        private Long jwksMaxAge = 3600L;
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public void setAlgorithm(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public String getKeyId() {
+            return keyId;
+        }
+
+        public void setKeyId(String keyId) {
+            this.keyId = keyId;
+        }
+
+        public String getPrivateKey() {
+            return privateKey;
+        }
+
+        public void setPrivateKey(String privateKey) {
+            this.privateKey = privateKey;
+        }
+
+        public String getPublicKey() {
+            return publicKey;
+        }
+
+        public void setPublicKey(String publicKey) {
+            this.publicKey = publicKey;
+        }
+
+        public Long getJwksMaxAge() {
+            return jwksMaxAge;
+        }
+
+        public void setJwksMaxAge(Long jwksMaxAge) {
+            this.jwksMaxAge = jwksMaxAge;
+        }
+    }
+
+    /**
+     * Lean {@code /validate} path that bypasses the MVC and security filter
+     * chain for service-to-service calls. Cache hits and bad signatures are
+     * answered on the I/O thread; only the user lookup goes to the pool.
+     */
+    public static class Validation {
+        private boolean lean = true;
+        private int lookupThreads = 4;
+        private int queueCapacity = 1024;
+        private Long timeout = 5000L;
+
+        public boolean isLean() {
+            return lean;
+        }
+
+        public void setLean(boolean lean) {
+            this.lean = lean;
+        }
+
+        public int getLookupThreads() {
+            return lookupThreads;
+        }
+
+        public void setLookupThreads(int lookupThreads) {
+            this.lookupThreads = lookupThreads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Long getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Long timeout) {
+            this.timeout = timeout;
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.microservices.authservice.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.microservices.authservice.dto.AuthResponse;
+import com.microservices.authservice.service.LoginMetrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Times the login response body write: the clock starts just before the
+ * message converter runs and stops when the request completes. Registered
+ * as an interceptor for the login route in {@link WebConfig}.
+ */
+@ControllerAdvice
+public class LoginTimingAdvice implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = LoginTimingAdvice.class.getName() + ".start";
+
+    private final LoginMetrics loginMetrics;
+
+    public LoginTimingAdvice(LoginMetrics loginMetrics) {
+        this.loginMetrics = loginMetrics;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof AuthResponse && request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            loginMetrics.recordSerialization(System.nanoTime() - start);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.microservices.authservice.config;
 
+import com.microservices.authservice.api.AuthRoutes;
 import com.microservices.authservice.security.JwtAuthenticationFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,7 +37,12 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(AuthRoutes.BASE + AuthRoutes.IMPORT).hasRole("ADMIN")
+                        .requestMatchers(AuthRoutes.BASE + AuthRoutes.VALIDATION_CACHE).hasRole("ADMIN")
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Hashing queue, login and validation metrics are operational data
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
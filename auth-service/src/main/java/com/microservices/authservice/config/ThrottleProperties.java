@@ -0,0 +1,105 @@
+package com.microservices.authservice.config;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Brute-force throttling of login and registration. Each bucket holds
+ * {@code capacity} attempts and regains one every {@code refillMillis}.
+ * After {@code lockoutThreshold} consecutive failed logins a username is
+ * locked for {@code lockoutBaseMillis}, doubling with every further failure
+ * up to {@code lockoutMaxMillis}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "throttle")
+public class ThrottleProperties {
+    private boolean enabled = true;
+    private int usernameCapacity = 10;
+    private long usernameRefillMillis = 6000;
+    private int ipCapacity = 50;
+    private long ipRefillMillis = 1000;
+    private int lockoutThreshold = 5;
+    private long lockoutBaseMillis = 1000;
+    private long lockoutMaxMillis = 900000;
+    private int maxEntries = 100000;
+    private long idleMillis = 900000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getUsernameCapacity() {
+        return usernameCapacity;
+    }
+
+    public void setUsernameCapacity(int usernameCapacity) {
+        this.usernameCapacity = usernameCapacity;
+    }
+
+    public long getUsernameRefillMillis() {
+        return usernameRefillMillis;
+    }
+
+    public void setUsernameRefillMillis(long usernameRefillMillis) {
+        this.usernameRefillMillis = usernameRefillMillis;
+    }
+
+    public int getIpCapacity() {
+        return ipCapacity;
+    }
+
+    public void setIpCapacity(int ipCapacity) {
+        this.ipCapacity = ipCapacity;
+    }
+
+    public long getIpRefillMillis() {
+        return ipRefillMillis;
+    }
+
+    public void setIpRefillMillis(long ipRefillMillis) {
+        this.ipRefillMillis = ipRefillMillis;
+    }
+
+    public int getLockoutThreshold() {
+        return lockoutThreshold;
+    }
+
+    public void setLockoutThreshold(int lockoutThreshold) {
+        this.lockoutThreshold = lockoutThreshold;
+    }
+
+    public long getLockoutBaseMillis() {
+        return lockoutBaseMillis;
+    }
+
+    public void setLockoutBaseMillis(long lockoutBaseMillis) {
+        this.lockoutBaseMillis = lockoutBaseMillis;
+    }
+
+    public long getLockoutMaxMillis() {
+        return lockoutMaxMillis;
+    }
+
+    public void setLockoutMaxMillis(long lockoutMaxMillis) {
+        this.lockoutMaxMillis = lockoutMaxMillis;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public long getIdleMillis() {
+        return idleMillis;
+    }
+
+    public void setIdleMillis(long idleMillis) {
+        this.idleMillis = idleMillis;
+    }
+}
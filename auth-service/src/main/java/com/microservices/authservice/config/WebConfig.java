@@ -0,0 +1,49 @@
+package com.microservices.authservice.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.microservices.authservice.api.AuthRoutes;
+import com.microservices.authservice.controller.LeanValidationEndpoint;
+import com.microservices.authservice.security.JwtService;
+import com.microservices.authservice.security.TokenValidationCache;
+import com.microservices.authservice.service.AuthService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final LoginTimingAdvice loginTimingAdvice;
+
+    public WebConfig(LoginTimingAdvice loginTimingAdvice) {
+        this.loginTimingAdvice = loginTimingAdvice;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(loginTimingAdvice).addPathPatterns(AuthRoutes.BASE + AuthRoutes.LOGIN);
+    }
+
+    /**
+     * Runs before the Spring Security filter chain, so service-to-service
+     * validations never reach it or the dispatcher servlet. Always registered
+     * because it is the only handler of the binary channel; {@code jwt.validation.lean}
+     * only controls whether it also takes over the JSON endpoint.
+     */
+    @Bean
+    public FilterRegistrationBean<LeanValidationEndpoint> leanValidationEndpoint(
+            AuthService authService, JwtService jwtService, TokenValidationCache tokenValidationCache,
+            JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<LeanValidationEndpoint> registration = new FilterRegistrationBean<>(
+                new LeanValidationEndpoint(authService, jwtService, tokenValidationCache, jwtProperties, meterRegistry));
+        registration.addUrlPatterns(AuthRoutes.BASE + AuthRoutes.VALIDATE, AuthRoutes.BASE + AuthRoutes.VALIDATE_BINARY);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+}
@@ -1,20 +1,34 @@
 package com.microservices.authservice.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.microservices.authservice.api.AuthRoutes;
 import com.microservices.authservice.dto.AuthResponse;
+import com.microservices.authservice.dto.BatchValidateTokenRequest;
+import com.microservices.authservice.dto.BatchValidateTokenResponse;
 import com.microservices.authservice.dto.LoginRequest;
+import com.microservices.authservice.dto.RefreshTokenRequest;
 import com.microservices.authservice.dto.RegisterRequest;
+import com.microservices.authservice.dto.RevokeTokenRequest;
 import com.microservices.authservice.dto.ValidateTokenRequest;
 import com.microservices.authservice.dto.ValidateTokenResponse;
+import com.microservices.authservice.security.LoginThrottle;
+import com.microservices.authservice.security.VerifiedToken;
 import com.microservices.authservice.service.AuthService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 @RestController
@@ -22,37 +36,94 @@ import jakarta.validation.Valid;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginThrottle loginThrottle;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, LoginThrottle loginThrottle) {
         this.authService = authService;
+        this.loginThrottle = loginThrottle;
     }
 
     @PostMapping(AuthRoutes.REGISTER)
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
+    public ResponseEntity<AuthResponse> register(
+            @Valid @RequestBody RegisterRequest request,
+            HttpServletRequest httpRequest) {
+        loginThrottle.checkRegistration(httpRequest.getRemoteAddr());
         AuthResponse response = authService.register(request);
         return ResponseEntity.status(201).body(response);
     }
 
     @PostMapping(AuthRoutes.LOGIN)
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public ResponseEntity<AuthResponse> login(
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest) {
+        loginThrottle.checkLogin(request.getUsername(), httpRequest.getRemoteAddr());
+        AuthResponse response;
+        try {
+            response = authService.login(request);
+        } catch (AuthenticationException e) {
+            loginThrottle.loginFailed(request.getUsername());
+            throw e;
+        }
+        loginThrottle.loginSucceeded(request.getUsername());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(AuthRoutes.REFRESH)
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        AuthResponse response = authService.refresh(request.getRefreshToken());
         return ResponseEntity.ok(response);
     }
 
     @PostMapping(AuthRoutes.VALIDATE)
     public ResponseEntity<ValidateTokenResponse> validateToken(@Valid @RequestBody ValidateTokenRequest request) {
-        String token = request.getToken();
-        String username = authService.extractUsername(token);
+        VerifiedToken token = authService.validateToken(request.getToken());
 
-        boolean isValid = username != null && authService.validateToken(token, username);
+        boolean isValid = token != null;
 
         return ResponseEntity.ok(new ValidateTokenResponse(
                 isValid,
-                isValid ? username : null,
+                isValid ? token.getSubject() : null,
                 isValid ? "Token is valid" : "Token is invalid"
         ));
     }
 
+    @PostMapping(AuthRoutes.VALIDATE_BATCH)
+    public ResponseEntity<BatchValidateTokenResponse> validateTokens(
+            @Valid @RequestBody BatchValidateTokenRequest request) {
+        List<VerifiedToken> tokens = authService.validateTokens(request.getTokens());
+
+        List<ValidateTokenResponse> results = new ArrayList<>(tokens.size());
+        for (VerifiedToken token : tokens) {
+            boolean isValid = token != null;
+            results.add(new ValidateTokenResponse(
+                    isValid,
+                    isValid ? token.getSubject() : null,
+                    isValid ? "Token is valid" : "Token is invalid"
+            ));
+        }
+        return ResponseEntity.ok(new BatchValidateTokenResponse(results));
+    }
+
+    @PostMapping(AuthRoutes.LOGOUT)
+    public ResponseEntity<Map<String, String>> logout(@Valid @RequestBody RevokeTokenRequest request) {
+        authService.revokeToken(request.getToken());
+        if (request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+            authService.revokeRefreshToken(request.getRefreshToken());
+        }
+        return ResponseEntity.ok(Map.of("message", "Token revoked"));
+    }
+
+    /**
+     * Drops cached validations for one user, or all of them. Admin Service
+     * calls this whenever it changes, deactivates or deletes a user.
+     */
+    @DeleteMapping(AuthRoutes.VALIDATION_CACHE)
+    public ResponseEntity<Map<String, Object>> purgeValidationCache(
+            @RequestParam(required = false) String username) {
+        int purged = authService.invalidateValidations(username);
+        return ResponseEntity.ok(Map.of("message", "Validation cache purged", "purged", purged));
+    }
+
     @GetMapping(AuthRoutes.HEALTH)
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Auth Service is running");
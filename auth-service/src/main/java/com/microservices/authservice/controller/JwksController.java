@@ -0,0 +1,42 @@
+package com.microservices.authservice.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.microservices.authservice.api.AuthRoutes;
+import com.microservices.authservice.config.JwtProperties;
+import com.microservices.authservice.security.JwtService;
+
+/**
+ * Publishes the public signing keys so other services can verify tokens locally.
+ * The body only changes with the key pair, so it is served with a strong ETag
+ * and a public max-age; conditional requests get a 304.
+ */
+@RestController
+@RequestMapping(AuthRoutes.BASE)
+public class JwksController {
+
+    private final JwtService jwtService;
+    private final CacheControl cacheControl;
+
+    public JwksController(JwtService jwtService, JwtProperties jwtProperties) {
+        this.jwtService = jwtService;
+        this.cacheControl = CacheControl
+                .maxAge(jwtProperties.getSigning().getJwksMaxAge(), TimeUnit.SECONDS)
+                .cachePublic();
+    }
+
+    @GetMapping(value = AuthRoutes.JWKS, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(jwtService.getJwksETag())
+                .body(jwtService.getJwksJson());
+    }
+}
@@ -0,0 +1,537 @@
+package com.microservices.authservice.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import com.microservices.authservice.api.AuthRoutes;
+import com.microservices.authservice.api.ValidationWire;
+import com.microservices.authservice.config.JwtProperties;
+import com.microservices.authservice.security.JwtService;
+import com.microservices.authservice.security.TokenValidationCache;
+import com.microservices.authservice.security.VerifiedToken;
+import com.microservices.authservice.service.AuthService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Lean, non-blocking variant of {@code POST /api/auth/validate} for
+ * service-to-service callers, and the only implementation of the binary
+ * {@code POST /api/auth/validate/binary} channel ({@link ValidationWire}).
+ * Registered ahead of Spring MVC and the security filter chain (see
+ * {@code WebConfig}); JSON answers are the same as
+ * {@link AuthController#validateToken}.
+ * <p>
+ * The body is read with a {@link ReadListener}, so no thread waits for it.
+ * Cache hits and tokens with a bad signature or expiry are answered on the
+ * I/O thread from pre-encoded byte fragments; only the user lookup of a cache
+ * miss is handed to a small bounded pool. Browser requests (with an
+ * {@code Origin} header) and oversized bodies fall through to the regular
+ * chain so CORS and error handling stay as they are.
+ */
+public class LeanValidationEndpoint implements Filter {
+
+    private static final Logger log = LoggerFactory.getLogger(LeanValidationEndpoint.class);
+
+    static final int MAX_BODY = 8192;
+    static final int MAX_BINARY_BODY = 1 << 20;
+
+    private static final byte[] VALID_PREFIX = ascii("{\"valid\":true,\"username\":\"");
+    private static final byte[] VALID_SUFFIX = ascii("\",\"message\":\"Token is valid\"}");
+    private static final byte[] INVALID =
+            ascii("{\"valid\":false,\"username\":null,\"message\":\"Token is invalid\"}");
+    private static final byte[] TOKEN_REQUIRED =
+            ascii("{\"message\":\"Validation failed\",\"token\":\"Token is required\"}");
+    private static final byte[] MALFORMED = ascii("{\"message\":\"Malformed request body\"}");
+    private static final byte[] TOO_LARGE = ascii("{\"message\":\"Request body is too large\"}");
+    private static final byte[] LOOKUP_FAILED = ascii("{\"message\":\"Token validation failed\"}");
+    private static final byte[] BUSY = ascii("{\"message\":\"Token validation is busy, please retry\"}");
+
+    private final AuthService authService;
+    private final JwtService jwtService;
+    private final TokenValidationCache tokenValidationCache;
+    private final ThreadPoolExecutor lookupExecutor;
+    private final long timeoutMillis;
+    private final boolean leanJson;
+
+    private final Timer cached;
+    private final Timer rejected;
+    private final Timer lookedUp;
+    private final Timer binary;
+
+    public LeanValidationEndpoint(AuthService authService, JwtService jwtService,
+                                  TokenValidationCache tokenValidationCache, JwtProperties jwtProperties,
+                                  MeterRegistry registry) {
+        this.authService = authService;
+        this.jwtService = jwtService;
+        this.tokenValidationCache = tokenValidationCache;
+
+        JwtProperties.Validation validation = jwtProperties.getValidation();
+        this.timeoutMillis = validation.getTimeout();
+        this.leanJson = validation.isLean();
+        AtomicInteger threadIds = new AtomicInteger();
+        this.lookupExecutor = new ThreadPoolExecutor(
+                validation.getLookupThreads(), validation.getLookupThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(validation.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "token-lookup-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.cached = path(registry, "cache");
+        this.rejected = path(registry, "signature");
+        this.lookedUp = path(registry, "lookup");
+        this.binary = path(registry, "binary");
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) req;
+        boolean binaryFrame = request.getRequestURI().endsWith(AuthRoutes.VALIDATE_BINARY);
+        if (!"POST".equals(request.getMethod())
+                || request.getDispatcherType() != DispatcherType.REQUEST
+                || !request.isAsyncSupported()
+                || (!binaryFrame && (!leanJson
+                        || request.getHeader(HttpHeaders.ORIGIN) != null
+                        || request.getContentLengthLong() > MAX_BODY))) {
+            chain.doFilter(req, res);
+            return;
+        }
+        if (binaryFrame && request.getContentLengthLong() > MAX_BINARY_BODY) {
+            write((HttpServletResponse) res, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, TOO_LARGE);
+            return;
+        }
+
+        AsyncContext async = request.startAsync();
+        async.setTimeout(timeoutMillis);
+        Exchange exchange = new Exchange(async, request.getInputStream(), (int) request.getContentLengthLong(), binaryFrame);
+        async.addListener(exchange);
+        exchange.input.setReadListener(exchange);
+    }
+
+    @Override
+    public void destroy() {
+        lookupExecutor.shutdownNow();
+    }
+
+    private void validate(Exchange exchange, String token) {
+        long start = System.nanoTime();
+        VerifiedToken hit = tokenValidationCache.get(token);
+        if (hit != null) {
+            exchange.finish(hit);
+            cached.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+        VerifiedToken verified = jwtService.safeVerify(token);
+        if (verified == null || verified.getSubject() == null || verified.getSubject().isBlank()) {
+            exchange.finish(null);
+            rejected.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+        try {
+            lookupExecutor.execute(() -> {
+                VerifiedToken result;
+                try {
+                    result = authService.completeValidation(token, verified);
+                } catch (RuntimeException e) {
+                    log.error("Token validation lookup failed", e);
+                    exchange.finish(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, LOOKUP_FAILED);
+                    return;
+                }
+                exchange.finish(result);
+                lookedUp.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            });
+        } catch (RejectedExecutionException e) {
+            exchange.finish(HttpServletResponse.SC_SERVICE_UNAVAILABLE, BUSY);
+        }
+    }
+
+    /**
+     * Binary frames: cache hits and signature checks run on the I/O thread,
+     * the remaining users are loaded with one query on the lookup pool.
+     */
+    private void validateAll(Exchange exchange, List<String> tokens) {
+        long start = System.nanoTime();
+        VerifiedToken[] results = new VerifiedToken[tokens.size()];
+        List<Integer> pending = new ArrayList<>();
+        List<String> pendingTokens = new ArrayList<>();
+        List<VerifiedToken> pendingVerified = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            String token = tokens.get(i);
+            results[i] = tokenValidationCache.get(token);
+            if (results[i] != null) {
+                continue;
+            }
+            VerifiedToken verified = jwtService.safeVerify(token);
+            if (verified != null && verified.getSubject() != null && !verified.getSubject().isBlank()) {
+                pending.add(i);
+                pendingTokens.add(token);
+                pendingVerified.add(verified);
+            }
+        }
+        if (pending.isEmpty()) {
+            exchange.finishFrame(ValidationWire.encodeResults(Arrays.asList(results)));
+            binary.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+        try {
+            lookupExecutor.execute(() -> {
+                List<VerifiedToken> completed;
+                try {
+                    completed = authService.completeValidations(pendingTokens, pendingVerified);
+                } catch (RuntimeException e) {
+                    log.error("Token validation lookup failed", e);
+                    exchange.finish(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, LOOKUP_FAILED);
+                    return;
+                }
+                for (int p = 0; p < completed.size(); p++) {
+                    results[pending.get(p)] = completed.get(p);
+                }
+                exchange.finishFrame(ValidationWire.encodeResults(Arrays.asList(results)));
+                binary.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            });
+        } catch (RejectedExecutionException e) {
+            exchange.finish(HttpServletResponse.SC_SERVICE_UNAVAILABLE, BUSY);
+        }
+    }
+
+    /**
+     * Writes the {@code /validate} response for a result (null when invalid).
+     */
+    static void writeResult(HttpServletResponse response, VerifiedToken token) throws IOException {
+        if (token == null) {
+            write(response, HttpServletResponse.SC_OK, INVALID);
+            return;
+        }
+        byte[] username = jsonSafe(token.getSubject())
+                ? token.getSubject().getBytes(StandardCharsets.UTF_8)
+                : escape(token.getSubject());
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(VALID_PREFIX.length + username.length + VALID_SUFFIX.length);
+        var out = response.getOutputStream();
+        out.write(VALID_PREFIX);
+        out.write(username);
+        out.write(VALID_SUFFIX);
+    }
+
+    static void write(HttpServletResponse response, int status, byte[] body) throws IOException {
+        write(response, status, MediaType.APPLICATION_JSON_VALUE, body);
+    }
+
+    static void write(HttpServletResponse response, int status, String contentType, byte[] body)
+            throws IOException {
+        response.setStatus(status);
+        response.setContentType(contentType);
+        if (status == HttpServletResponse.SC_SERVICE_UNAVAILABLE) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Extracts the {@code token} string from a flat JSON object without
+     * building a tree. Returns "" when the field is missing or null, and null
+     * when the body is not a flat object this parser understands.
+     */
+    static String parseToken(byte[] body, int length) {
+        int pos = skipWhitespace(body, 0, length);
+        if (pos >= length || body[pos] != '{') {
+            return null;
+        }
+        pos = skipWhitespace(body, pos + 1, length);
+        String token = "";
+        if (pos < length && body[pos] == '}') {
+            return trailingOnly(body, pos + 1, length) ? token : null;
+        }
+        while (pos < length) {
+            int keyStart = pos + 1;
+            int keyEnd = stringEnd(body, pos, length);
+            if (keyEnd < 0) {
+                return null;
+            }
+            boolean isToken = keyEnd - keyStart == 5
+                    && body[keyStart] == 't' && body[keyStart + 1] == 'o' && body[keyStart + 2] == 'k'
+                    && body[keyStart + 3] == 'e' && body[keyStart + 4] == 'n';
+            pos = skipWhitespace(body, keyEnd + 1, length);
+            if (pos >= length || body[pos] != ':') {
+                return null;
+            }
+            pos = skipWhitespace(body, pos + 1, length);
+            if (pos >= length) {
+                return null;
+            }
+            if (body[pos] == '"') {
+                int valueEnd = stringEnd(body, pos, length);
+                if (valueEnd < 0) {
+                    return null;
+                }
+                if (isToken) {
+                    token = new String(body, pos + 1, valueEnd - pos - 1, StandardCharsets.UTF_8);
+                }
+                pos = valueEnd + 1;
+            } else {
+                int scalarEnd = pos;
+                while (scalarEnd < length && body[scalarEnd] != ',' && body[scalarEnd] != '}'
+                        && !isWhitespace(body[scalarEnd])) {
+                    byte b = body[scalarEnd];
+                    if (b == '{' || b == '[' || b == '"') {
+                        return null;
+                    }
+                    scalarEnd++;
+                }
+                if (isToken) {
+                    if (scalarEnd - pos != 4 || body[pos] != 'n') {
+                        return null;
+                    }
+                    token = "";
+                }
+                pos = scalarEnd;
+            }
+            pos = skipWhitespace(body, pos, length);
+            if (pos >= length) {
+                return null;
+            }
+            if (body[pos] == '}') {
+                return trailingOnly(body, pos + 1, length) ? token : null;
+            }
+            if (body[pos] != ',') {
+                return null;
+            }
+            pos = skipWhitespace(body, pos + 1, length);
+        }
+        return null;
+    }
+
+    /**
+     * Index of the closing quote of the string starting at {@code start},
+     * or -1 if it is unterminated or uses escapes.
+     */
+    private static int stringEnd(byte[] body, int start, int length) {
+        if (start >= length || body[start] != '"') {
+            return -1;
+        }
+        for (int i = start + 1; i < length; i++) {
+            if (body[i] == '"') {
+                return i;
+            }
+            if (body[i] == '\\') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean trailingOnly(byte[] body, int from, int length) {
+        return skipWhitespace(body, from, length) == length;
+    }
+
+    private static int skipWhitespace(byte[] body, int from, int length) {
+        while (from < length && isWhitespace(body[from])) {
+            from++;
+        }
+        return from;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static boolean jsonSafe(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static Timer path(MeterRegistry registry, String path) {
+        return Timer.builder("token.validation.lean")
+                .tag("path", path)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    /**
+     * One request: reads the body as it arrives and writes the response once,
+     * whichever of the result, an error or the async timeout comes first.
+     */
+    private final class Exchange implements ReadListener, AsyncListener {
+        private final AsyncContext async;
+        private final ServletInputStream input;
+        private final boolean binaryFrame;
+        private final int maxBody;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private byte[] body;
+        private int length;
+
+        private Exchange(AsyncContext async, ServletInputStream input, int contentLength, boolean binaryFrame) {
+            this.async = async;
+            this.input = input;
+            this.binaryFrame = binaryFrame;
+            this.maxBody = binaryFrame ? MAX_BINARY_BODY : MAX_BODY;
+            this.body = new byte[contentLength > 0 ? contentLength : 256];
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            while (!input.isFinished() && input.isReady()) {
+                if (length == body.length) {
+                    if (body.length >= maxBody) {
+                        finish(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, TOO_LARGE);
+                        return;
+                    }
+                    body = Arrays.copyOf(body, Math.min(body.length * 2, maxBody));
+                }
+                int read = input.read(body, length, body.length - length);
+                if (read < 0) {
+                    return;
+                }
+                length += read;
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            if (finished.get()) {
+                return;
+            }
+            if (binaryFrame) {
+                List<String> tokens = ValidationWire.decodeRequest(body, length);
+                if (tokens == null) {
+                    finish(HttpServletResponse.SC_BAD_REQUEST, MALFORMED);
+                } else {
+                    validateAll(this, tokens);
+                }
+                return;
+            }
+            String token = parseToken(body, length);
+            if (token == null) {
+                finish(HttpServletResponse.SC_BAD_REQUEST, MALFORMED);
+            } else if (token.isBlank()) {
+                finish(HttpServletResponse.SC_BAD_REQUEST, TOKEN_REQUIRED);
+            } else {
+                validate(this, token);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            log.debug("Failed to read token validation request", t);
+            if (finished.compareAndSet(false, true)) {
+                async.complete();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish(HttpServletResponse.SC_SERVICE_UNAVAILABLE, BUSY);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            onError(event.getThrowable());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void finish(VerifiedToken token) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                writeResult((HttpServletResponse) async.getResponse(), token);
+            } catch (IOException e) {
+                log.debug("Failed to write token validation response", e);
+            } finally {
+                async.complete();
+            }
+        }
+
+        private void finishFrame(byte[] frame) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                write((HttpServletResponse) async.getResponse(), HttpServletResponse.SC_OK,
+                        ValidationWire.CONTENT_TYPE, frame);
+            } catch (IOException e) {
+                log.debug("Failed to write token validation response", e);
+            } finally {
+                async.complete();
+            }
+        }
+
+        private void finish(int status, byte[] body) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                write((HttpServletResponse) async.getResponse(), status, body);
+            } catch (IOException e) {
+                log.debug("Failed to write token validation response", e);
+            } finally {
+                async.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.microservices.authservice.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.microservices.authservice.api.AuthRoutes;
+import com.microservices.authservice.service.UserImportReader;
+import com.microservices.authservice.service.UserImportService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Bulk import for onboarding. Reads the request body as it arrives and
+ * streams the per-row report back on the same request thread, so long
+ * imports are not cut off by the async request timeout.
+ */
+@RestController
+@RequestMapping(AuthRoutes.BASE)
+public class UserImportController {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private final UserImportService userImportService;
+
+    public UserImportController(UserImportService userImportService) {
+        this.userImportService = userImportService;
+    }
+
+    @PostMapping(value = AuthRoutes.IMPORT, consumes = {NDJSON, CSV}, produces = NDJSON)
+    public void importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            HttpServletResponse response) throws IOException {
+        UserImportReader.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf(CSV))
+                ? UserImportReader.Format.CSV
+                : UserImportReader.Format.NDJSON;
+        UserImportReader reader = userImportService.open(body, format);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        userImportService.importUsers(reader, response.getOutputStream());
+    }
+}
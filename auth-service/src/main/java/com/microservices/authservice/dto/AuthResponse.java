@@ -1,6 +1,7 @@
 package com.microservices.authservice.dto;
 public class AuthResponse {
     private String token;
+    private String refreshToken;
     private String username;
     private String email;
     private String message;
@@ -15,6 +16,11 @@ public class AuthResponse {
         this.message = message;
     }
 
+    public AuthResponse(String token, String refreshToken, String username, String email, String message) {
+        this(token, username, email, message);
+        this.refreshToken = refreshToken;
+    }
+
     public String getToken() {
         return token;
     }
@@ -23,6 +29,14 @@ public class AuthResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public String getUsername() {
         return username;
     }
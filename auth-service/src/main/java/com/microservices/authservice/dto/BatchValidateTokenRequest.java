@@ -0,0 +1,27 @@
+package com.microservices.authservice.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+public class BatchValidateTokenRequest {
+
+    @NotEmpty(message = "Tokens are required")
+    @Size(max = 1000, message = "At most 1000 tokens per request")
+    private List<String> tokens;
+
+    public BatchValidateTokenRequest() {
+    }
+
+    public BatchValidateTokenRequest(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    public List<String> getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(List<String> tokens) {
+        this.tokens = tokens;
+    }
+}
@@ -0,0 +1,22 @@
+package com.microservices.authservice.dto;
+
+import java.util.List;
+public class BatchValidateTokenResponse {
+
+    private List<ValidateTokenResponse> results;
+
+    public BatchValidateTokenResponse() {
+    }
+
+    public BatchValidateTokenResponse(List<ValidateTokenResponse> results) {
+        this.results = results;
+    }
+
+    public List<ValidateTokenResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ValidateTokenResponse> results) {
+        this.results = results;
+    }
+}
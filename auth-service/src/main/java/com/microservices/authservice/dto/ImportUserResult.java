@@ -0,0 +1,60 @@
+package com.microservices.authservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of the streamed import report.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportUserResult {
+
+    public static final String CREATED = "created";
+    public static final String FAILED = "failed";
+
+    private int line;
+    private String username;
+    private String status;
+    private String message;
+
+    public ImportUserResult() {
+    }
+
+    public ImportUserResult(int line, String username, String status, String message) {
+        this.line = line;
+        this.username = username;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
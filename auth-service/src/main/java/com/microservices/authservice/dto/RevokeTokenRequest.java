@@ -0,0 +1,33 @@
+package com.microservices.authservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+public class RevokeTokenRequest {
+
+    @NotBlank(message = "Token is required")
+    private String token;
+
+    private String refreshToken;
+
+    public RevokeTokenRequest() {
+    }
+
+    public RevokeTokenRequest(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
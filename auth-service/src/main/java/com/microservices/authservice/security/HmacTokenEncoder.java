@@ -0,0 +1,285 @@
+package com.microservices.authservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+/**
+ * Allocation-light issuance path for HMAC tokens with our fixed claim set
+ * ({@code uid}, {@code role}, {@code authorities}, {@code jti}, {@code sub},
+ * {@code iat}, {@code exp}).
+ * <p>
+ * The header segment is encoded once, a {@link Mac} and its byte buffers are
+ * borrowed from a {@link ScratchPool} (so reuse survives virtual threads),
+ * and base64url is written straight into the output buffer, so the only
+ * allocation per token is the resulting {@link String}. The output is
+ * byte-for-byte what the JJWT builder produces for the same claims; values
+ * that would need JSON escaping are left to the JJWT path (see {@link #supports}).
+ */
+final class HmacTokenEncoder {
+
+    private static final byte[] BASE64URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] UID = ascii("\"" + JwtService.CLAIM_USER_ID + "\":");
+    private static final byte[] ROLE = ascii("\"" + JwtService.CLAIM_ROLE + "\":");
+    private static final byte[] AUTHORITIES = ascii("\"" + JwtService.CLAIM_AUTHORITIES + "\":[");
+    private static final byte[] JTI = ascii("\"jti\":");
+    private static final byte[] SUB = ascii("\"sub\":");
+    private static final byte[] IAT = ascii(",\"iat\":");
+    private static final byte[] EXP = ascii(",\"exp\":");
+
+    private final SecretKey key;
+    private final String macAlgorithm;
+    private final byte[] encodedHeader;
+    private final ScratchPool<State> states = new ScratchPool<>(this::newState);
+
+    private HmacTokenEncoder(SecretKey key, String keyId) {
+        this.key = key;
+        this.macAlgorithm = key.getAlgorithm();
+        String alg = "HS" + macAlgorithm.substring("HmacSHA".length());
+        String header = keyId != null
+                ? "{\"kid\":\"" + keyId + "\",\"alg\":\"" + alg + "\"}"
+                : "{\"alg\":\"" + alg + "\"}";
+        byte[] headerJson = header.getBytes(StandardCharsets.UTF_8);
+        this.encodedHeader = new byte[encodedLength(headerJson.length)];
+        encode(headerJson, headerJson.length, encodedHeader, 0);
+    }
+
+    /**
+     * Returns an encoder for the signing key, or null if the key is not an
+     * HMAC key or the key id would need escaping.
+     */
+    static HmacTokenEncoder create(Key signingKey, String keyId) {
+        if (!(signingKey instanceof SecretKey secretKey)
+                || !secretKey.getAlgorithm().startsWith("HmacSHA")
+                || (keyId != null && !supports(keyId))) {
+            return null;
+        }
+        return new HmacTokenEncoder(secretKey, keyId);
+    }
+
+    /**
+     * True if the value can be written into JSON without escaping.
+     */
+    static boolean supports(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\' || Character.isSurrogate(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean supports(List<String> values) {
+        for (int i = 0; i < values.size(); i++) {
+            if (!supports(values.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@code userId}, {@code role}, {@code authorities} and {@code id} are
+     * optional and omitted when null; strings must have passed {@link #supports}.
+     */
+    String encode(String subject, Long userId, String role, List<String> authorities, String id,
+                  long issuedAtMillis, long expirationMillis) {
+        State s = states.borrow();
+
+        writePayload(s, subject, userId, role, authorities, id, issuedAtMillis / 1000, expirationMillis / 1000);
+
+        int signedLength = encodedHeader.length + 1 + encodedLength(s.length);
+        byte[] out = s.output(signedLength + 1 + encodedLength(s.signature.length));
+        System.arraycopy(encodedHeader, 0, out, 0, encodedHeader.length);
+        out[encodedHeader.length] = '.';
+        encode(s.payload, s.length, out, encodedHeader.length + 1);
+
+        s.mac.update(out, 0, signedLength);
+        try {
+            s.mac.doFinal(s.signature, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign token", e);
+        }
+        out[signedLength] = '.';
+        int length = encode(s.signature, s.signature.length, out, signedLength + 1);
+
+        String token = new String(out, 0, length, StandardCharsets.ISO_8859_1);
+        states.release(s);
+        return token;
+    }
+
+    /**
+     * Writes the claims in the order the JJWT path puts them: custom claims
+     * first, then {@code jti}, {@code sub}, {@code iat}, {@code exp}.
+     */
+    private static void writePayload(State s, String subject, Long userId, String role,
+                                     List<String> authorities, String id, long issuedAt, long expiration) {
+        s.length = 0;
+        s.put((byte) '{');
+        if (userId != null) {
+            s.put(UID);
+            s.putLong(userId);
+            s.put((byte) ',');
+        }
+        if (role != null) {
+            s.put(ROLE);
+            s.putString(role);
+            s.put((byte) ',');
+        }
+        if (authorities != null) {
+            s.put(AUTHORITIES);
+            for (int i = 0; i < authorities.size(); i++) {
+                if (i > 0) {
+                    s.put((byte) ',');
+                }
+                s.putString(authorities.get(i));
+            }
+            s.put((byte) ']');
+            s.put((byte) ',');
+        }
+        if (id != null) {
+            s.put(JTI);
+            s.putString(id);
+            s.put((byte) ',');
+        }
+        s.put(SUB);
+        s.putString(subject);
+        s.put(IAT);
+        s.putLong(issuedAt);
+        s.put(EXP);
+        s.putLong(expiration);
+        s.put((byte) '}');
+    }
+
+    private static int encodedLength(int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    /**
+     * Unpadded base64url of {@code src[0..length)} into {@code dst} at {@code pos}.
+     * Returns the position after the last written byte.
+     */
+    private static int encode(byte[] src, int length, byte[] dst, int pos) {
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[pos++] = BASE64URL[(bits >>> 18) & 0x3f];
+            dst[pos++] = BASE64URL[(bits >>> 12) & 0x3f];
+            dst[pos++] = BASE64URL[(bits >>> 6) & 0x3f];
+            dst[pos++] = BASE64URL[bits & 0x3f];
+        }
+        int remaining = length - i;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xff) << 16;
+            dst[pos++] = BASE64URL[(bits >>> 18) & 0x3f];
+            dst[pos++] = BASE64URL[(bits >>> 12) & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+            dst[pos++] = BASE64URL[(bits >>> 18) & 0x3f];
+            dst[pos++] = BASE64URL[(bits >>> 12) & 0x3f];
+            dst[pos++] = BASE64URL[(bits >>> 6) & 0x3f];
+        }
+        return pos;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private State newState() {
+        try {
+            Mac mac = Mac.getInstance(macAlgorithm);
+            mac.init(key);
+            return new State(mac);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + macAlgorithm, e);
+        }
+    }
+
+    /**
+     * Pooled scratch space, used by one caller at a time; buffers only ever grow.
+     */
+    private static final class State {
+        private final Mac mac;
+        private final byte[] signature;
+        private byte[] payload = new byte[256];
+        private byte[] output = new byte[512];
+        private int length;
+
+        private State(Mac mac) {
+            this.mac = mac;
+            this.signature = new byte[mac.getMacLength()];
+        }
+
+        private byte[] output(int capacity) {
+            if (output.length < capacity) {
+                output = new byte[capacity];
+            }
+            return output;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > payload.length) {
+                payload = Arrays.copyOf(payload, Math.max(payload.length * 2, length + extra));
+            }
+        }
+
+        private void put(byte b) {
+            ensure(1);
+            payload[length++] = b;
+        }
+
+        private void put(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, payload, length, bytes.length);
+            length += bytes.length;
+        }
+
+        /**
+         * Quoted UTF-8 string. ASCII is copied char by char; anything else
+         * goes through {@link String#getBytes} (the only allocating branch).
+         */
+        private void putString(String value) {
+            put((byte) '"');
+            int n = value.length();
+            ensure(n);
+            int start = length;
+            for (int i = 0; i < n; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    length = start;
+                    put(value.getBytes(StandardCharsets.UTF_8));
+                    put((byte) '"');
+                    return;
+                }
+                payload[length++] = (byte) c;
+            }
+            put((byte) '"');
+        }
+
+        private void putLong(long value) {
+            ensure(20);
+            if (value < 0) {
+                payload[length++] = '-';
+                value = -value;
+            }
+            int digits = 1;
+            for (long v = value / 10; v > 0; v /= 10) {
+                digits++;
+            }
+            for (int i = length + digits - 1; i >= length; i--) {
+                payload[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            length += digits;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.microservices.authservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.microservices.authservice.config.JwtProperties;
+
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Signing and verification keys, derived once from {@link JwtProperties}.
+ * <p>
+ * In {@code HS256} mode tokens are signed with the shared secret. In
+ * {@code ES256}/{@code EdDSA} mode they are signed with a private key and the
+ * matching public key is published as a JWK set, so other services can verify
+ * tokens locally. HMAC tokens issued before a switch stay verifiable for as
+ * long as {@code jwt.secret} is configured.
+ * <p>
+ * HMAC keys can also come from a keyring ({@code jwt.keys}). Tokens are then
+ * signed with {@code jwt.active-key-id} and carry it as {@code kid}; retired
+ * keys keep verifying until their last token expires, so a rotation never
+ * forces users to log in again. Tokens without a {@code kid} fall back to
+ * {@code jwt.secret}.
+ */
+class JwtKeys implements Locator<Key> {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeys.class);
+
+    private static final String EMPTY_JWKS = "{\"keys\":[]}";
+
+    private final SecretKey hmacKey;
+    private final Map<String, HmacEntry> hmacKeyring;
+    private final Key signingKey;
+    private final String signingKeyId;
+    private final PublicKey publicKey;
+    private final String jwksJson;
+    private final String jwksETag;
+
+    JwtKeys(JwtProperties jwtProperties) {
+        JwtProperties.Signing signing = jwtProperties.getSigning();
+        String algorithm = signing.getAlgorithm() != null ? signing.getAlgorithm() : "HS256";
+
+        this.hmacKey = jwtProperties.getSecret() != null && !jwtProperties.getSecret().isBlank()
+                ? Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()))
+                : null;
+        this.hmacKeyring = buildKeyring(jwtProperties);
+
+        switch (algorithm) {
+            case "HS256" -> {
+                if (!hmacKeyring.isEmpty()) {
+                    String activeKeyId = jwtProperties.getActiveKeyId();
+                    HmacEntry active = activeKeyId != null ? hmacKeyring.get(activeKeyId) : null;
+                    if (active == null || active.verifyUntilMillis != Long.MAX_VALUE) {
+                        throw new IllegalStateException(
+                                "jwt.active-key-id must name a non-retired key in jwt.keys");
+                    }
+                    this.signingKey = active.key;
+                    this.signingKeyId = activeKeyId;
+                } else if (hmacKey != null) {
+                    this.signingKey = hmacKey;
+                    this.signingKeyId = null;
+                } else {
+                    throw new IllegalStateException("jwt.secret or jwt.keys is required for HS256 signing");
+                }
+                this.publicKey = null;
+                this.jwksJson = EMPTY_JWKS;
+            }
+            case "ES256", "EdDSA" -> {
+                KeyPair keyPair = loadOrGenerate(algorithm, signing);
+                PublicJwk<?> jwk = toJwk(keyPair.getPublic(), algorithm, signing.getKeyId());
+                this.signingKey = keyPair.getPrivate();
+                this.signingKeyId = jwk.getId();
+                this.publicKey = keyPair.getPublic();
+                this.jwksJson = "{\"keys\":[" + Jwks.json(jwk) + "]}";
+            }
+            default -> throw new IllegalStateException("Unsupported jwt.signing.algorithm: " + algorithm);
+        }
+        this.jwksETag = "\"" + sha256Hex(jwksJson) + "\"";
+    }
+
+    Key getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Key id for the {@code kid} header, or null when signing with the legacy {@code jwt.secret}.
+     */
+    String getSigningKeyId() {
+        return signingKeyId;
+    }
+
+    String getJwksJson() {
+        return jwksJson;
+    }
+
+    String getJwksETag() {
+        return jwksETag;
+    }
+
+    @Override
+    public Key locate(Header header) {
+        String alg = header.getAlgorithm();
+        if (alg != null && alg.startsWith("HS")) {
+            String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+            return kid != null ? locateHmac(kid) : locateLegacyHmac();
+        }
+        if (publicKey == null) {
+            throw new SignatureException("Asymmetric signing is not configured");
+        }
+        return publicKey;
+    }
+
+    private Key locateHmac(String kid) {
+        HmacEntry entry = hmacKeyring.get(kid);
+        if (entry == null || System.currentTimeMillis() >= entry.verifyUntilMillis) {
+            throw new SignatureException("Unknown or retired key id: " + kid);
+        }
+        return entry.key;
+    }
+
+    private Key locateLegacyHmac() {
+        if (hmacKey == null) {
+            throw new SignatureException("HMAC-signed tokens without a key id are not accepted");
+        }
+        return hmacKey;
+    }
+
+    private static Map<String, HmacEntry> buildKeyring(JwtProperties jwtProperties) {
+        Map<String, HmacEntry> keyring = new HashMap<>();
+        for (JwtProperties.HmacKey hmac : jwtProperties.getKeys()) {
+            if (hmac.getId() == null || hmac.getSecret() == null) {
+                throw new IllegalStateException("Every entry in jwt.keys needs an id and a secret");
+            }
+            long verifyUntil = hmac.getRetiredAt() != null
+                    ? hmac.getRetiredAt().toEpochMilli() + jwtProperties.getExpiration()
+                    : Long.MAX_VALUE;
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(hmac.getSecret()));
+            if (keyring.put(hmac.getId(), new HmacEntry(key, verifyUntil)) != null) {
+                throw new IllegalStateException("Duplicate key id in jwt.keys: " + hmac.getId());
+            }
+        }
+        return Map.copyOf(keyring);
+    }
+
+    private static KeyPair loadOrGenerate(String algorithm, JwtProperties.Signing signing) {
+        if (signing.getPrivateKey() == null || signing.getPublicKey() == null) {
+            log.warn("No {} key pair configured; generating an ephemeral one. "
+                    + "Tokens will not survive a restart or verify across instances.", algorithm);
+            return "ES256".equals(algorithm)
+                    ? Jwts.SIG.ES256.keyPair().build()
+                    : Jwts.SIG.EdDSA.keyPair().build();
+        }
+        String keyAlgorithm = "ES256".equals(algorithm) ? "EC" : "Ed25519";
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm);
+            PrivateKey privateKey = keyFactory.generatePrivate(
+                    new PKCS8EncodedKeySpec(decodePem(signing.getPrivateKey())));
+            PublicKey publicKey = keyFactory.generatePublic(
+                    new X509EncodedKeySpec(decodePem(signing.getPublicKey())));
+            return new KeyPair(publicKey, privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + algorithm + " key pair in jwt.signing", e);
+        }
+    }
+
+    /**
+     * Accepts either bare base64 DER or a PEM block.
+     */
+    private static byte[] decodePem(String value) {
+        String base64 = value
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    /**
+     * The key id defaults to the RFC 7638 thumbprint so it changes whenever the key does.
+     */
+    private static PublicJwk<?> toJwk(PublicKey publicKey, String algorithm, String keyId) {
+        var builder = Jwks.builder()
+                .key(publicKey)
+                .algorithm(algorithm)
+                .publicKeyUse("sig");
+        return keyId != null ? builder.id(keyId).build() : builder.idFromThumbprint().build();
+    }
+
+    private static final class HmacEntry {
+        private final SecretKey key;
+        private final long verifyUntilMillis;
+
+        private HmacEntry(SecretKey key, long verifyUntilMillis) {
+            this.key = key;
+            this.verifyUntilMillis = verifyUntilMillis;
+        }
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,96 +1,230 @@
 package com.microservices.authservice.security;
 
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Base64;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
-import javax.crypto.SecretKey;
-
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import com.microservices.authservice.config.JwtProperties;
+import com.microservices.authservice.entity.User;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 
 @Service
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_AUTHORITIES = "authorities";
+
     private final JwtProperties jwtProperties;
 
+    // Derived once: decoding keys and building a parser are far more
+    // expensive than the signature check itself, and both are immutable/thread-safe.
+    private final JwtKeys keys;
+    private final JwtParser jwtParser;
+
+    // Fast issuance path for HMAC keys; null when signing asymmetrically.
+    private final HmacTokenEncoder hmacTokenEncoder;
+
+    private final TokenDenylist denylist = new TokenDenylist();
+    private final SecureRandom random = new SecureRandom();
+
     public JwtService(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
+        this.keys = new JwtKeys(jwtProperties);
+        this.jwtParser = Jwts.parser()
+                .keyLocator(keys)
+                .build();
+        this.hmacTokenEncoder = HmacTokenEncoder.create(keys.getSigningKey(), keys.getSigningKeyId());
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Verifies signature, expiry and revocation in a single parse.
+     *
+     * @throws JwtException if the token is malformed, tampered with, expired or revoked
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = new VerifiedToken(extractAllClaims(token));
+        if (!denylist.isEmpty() && isRevoked(verified)) {
+            throw new JwtException("Token has been revoked");
+        }
+        return verified;
     }
 
     /**
-     * Safe variant for cases where the token can be malformed/expired.
+     * Adds the token's {@code jti} to the denylist until the token expires.
+     *
+     * @return false if the token has no id and cannot be revoked individually
+     */
+    public boolean revoke(VerifiedToken token) {
+        long[] id = decodeId(token.getId());
+        if (id == null || token.getExpiration() == null) {
+            return false;
+        }
+        denylist.add(id[0], id[1], token.getExpiration().toEpochMilli(), System.currentTimeMillis());
+        return true;
+    }
+
+    public int getRevokedTokenCount() {
+        denylist.purgeIfDue(System.currentTimeMillis());
+        return denylist.size();
+    }
+
+    /**
+     * Safe variant of {@link #verify(String)}.
      * Returns null instead of throwing.
      */
-    public String safeExtractUsername(String token) {
+    public VerifiedToken safeVerify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
         try {
-            return extractClaim(token, Claims::getSubject);
+            return verify(token);
         } catch (JwtException | IllegalArgumentException e) {
             return null;
         }
     }
 
+    public String extractUsername(String token) {
+        return extractClaim(token, Claims::getSubject);
+    }
+
+    /**
+     * Safe variant for cases where the token can be malformed/expired.
+     * Returns null instead of throwing.
+     */
+    public String safeExtractUsername(String token) {
+        VerifiedToken verified = safeVerify(token);
+        return verified != null ? verified.getSubject() : null;
+    }
+
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         final Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        return generateToken(Map.of(), userDetails);
     }
 
+    /**
+     * Tokens carry the user id, role and granted authorities, so a verified
+     * token is enough to build an {@code Authentication} without a user lookup.
+     */
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        long now = System.currentTimeMillis();
+        String username = userDetails.getUsername();
+        Long userId = null;
+        String role = null;
+        List<String> authorities;
+        if (userDetails instanceof User user) {
+            userId = user.getId();
+            role = user.getRole() != null ? user.getRole().name() : null;
+            authorities = role != null ? List.of("ROLE_" + role) : List.of();
+        } else {
+            authorities = userDetails.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList();
+        }
+
+        String id = newTokenId();
+
+        if (hmacTokenEncoder != null && extraClaims.isEmpty()
+                && HmacTokenEncoder.supports(username)
+                && (role == null || HmacTokenEncoder.supports(role))
+                && HmacTokenEncoder.supports(authorities)) {
+            return hmacTokenEncoder.encode(username, userId, role, authorities, id,
+                    now, now + jwtProperties.getExpiration());
+        }
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        if (userId != null) {
+            claims.put(CLAIM_USER_ID, userId);
+        }
+        if (role != null) {
+            claims.put(CLAIM_ROLE, role);
+        }
+        claims.put(CLAIM_AUTHORITIES, authorities);
+        claims.putAll(extraClaims);
+
         return Jwts
                 .builder()
-                .claims(extraClaims)
-                .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + jwtProperties.getExpiration()))
-                .signWith(getSignInKey())
+                .header().keyId(keys.getSigningKeyId()).and()
+                .claims(claims)
+                .id(id)
+                .subject(username)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + jwtProperties.getExpiration()))
+                .signWith(keys.getSigningKey())
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        VerifiedToken verified = safeVerify(token);
+        return verified != null && isTokenValid(verified, userDetails);
+    }
+
+    /**
+     * Signature and expiry were already checked by {@link #verify(String)};
+     * only the subject has to match the loaded user, who must still be enabled.
+     */
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.getSubject() != null && token.getSubject().equals(userDetails.getUsername())
+                && userDetails.isEnabled();
+    }
+
+    /**
+     * Public verification keys as a JWK set; empty in HS256 mode.
+     */
+    public String getJwksJson() {
+        return keys.getJwksJson();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String getJwksETag() {
+        return keys.getJwksETag();
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isRevoked(VerifiedToken token) {
+        long[] id = decodeId(token.getId());
+        return id != null && denylist.contains(id[0], id[1], System.currentTimeMillis());
+    }
+
+    /**
+     * 128 random bits, base64url-encoded (22 characters).
+     */
+    private String newTokenId() {
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static long[] decodeId(String id) {
+        if (id == null || id.length() != 22) {
+            return null;
+        }
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(Base64.getUrlDecoder().decode(id));
+            return new long[] {bytes.getLong(), bytes.getLong()};
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
-
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtProperties.getSecret());
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 }
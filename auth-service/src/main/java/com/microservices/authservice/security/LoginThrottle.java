@@ -0,0 +1,110 @@
+package com.microservices.authservice.security;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.microservices.authservice.config.ThrottleProperties;
+import com.microservices.authservice.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Brute-force protection for login and registration, checked before any
+ * password is hashed. Logins draw from a bucket per username and one per
+ * client IP; registrations only from the IP bucket. Consecutive failed
+ * logins lock the username out for progressively longer.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final boolean enabled;
+    private final RateLimiter usernames;
+    private final RateLimiter addresses;
+    private final Counter rejectedUsername;
+    private final Counter rejectedIp;
+
+    @Autowired
+    public LoginThrottle(ThrottleProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    LoginThrottle(ThrottleProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.enabled = properties.isEnabled();
+        long lockoutBase = TimeUnit.MILLISECONDS.toNanos(properties.getLockoutBaseMillis());
+        long lockoutMax = TimeUnit.MILLISECONDS.toNanos(properties.getLockoutMaxMillis());
+        long idle = TimeUnit.MILLISECONDS.toNanos(properties.getIdleMillis());
+        this.usernames = new RateLimiter(
+                properties.getUsernameCapacity(),
+                TimeUnit.MILLISECONDS.toNanos(properties.getUsernameRefillMillis()),
+                properties.getLockoutThreshold(), lockoutBase, lockoutMax,
+                properties.getMaxEntries(), idle, clock);
+        this.addresses = new RateLimiter(
+                properties.getIpCapacity(),
+                TimeUnit.MILLISECONDS.toNanos(properties.getIpRefillMillis()),
+                Integer.MAX_VALUE, lockoutBase, lockoutMax,
+                properties.getMaxEntries(), idle, clock);
+
+        this.rejectedUsername = Counter.builder("auth.throttle.rejected").tag("key", "username").register(registry);
+        this.rejectedIp = Counter.builder("auth.throttle.rejected").tag("key", "ip").register(registry);
+        Gauge.builder("auth.throttle.entries", usernames, RateLimiter::size).tag("key", "username").register(registry);
+        Gauge.builder("auth.throttle.entries", addresses, RateLimiter::size).tag("key", "ip").register(registry);
+    }
+
+    /**
+     * Throws {@link TooManyRequestsException} if the username is locked out
+     * or either bucket is empty.
+     */
+    public void checkLogin(String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        String user = usernameKey(username);
+        reject(usernames.lockedFor(user), rejectedUsername);
+        reject(addresses.acquire(ipKey(clientIp)), rejectedIp);
+        reject(usernames.acquire(user), rejectedUsername);
+    }
+
+    public void checkRegistration(String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        reject(addresses.acquire(ipKey(clientIp)), rejectedIp);
+    }
+
+    public void loginFailed(String username) {
+        if (enabled) {
+            usernames.failure(usernameKey(username));
+        }
+    }
+
+    public void loginSucceeded(String username) {
+        if (enabled) {
+            usernames.success(usernameKey(username));
+        }
+    }
+
+    private static void reject(long waitNanos, Counter counter) {
+        if (waitNanos > 0) {
+            counter.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new TooManyRequestsException("Too many attempts, please retry later", retryAfter);
+        }
+    }
+
+    private static String usernameKey(String username) {
+        String key = username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static String ipKey(String clientIp) {
+        return clientIp == null ? "" : clientIp;
+    }
+}
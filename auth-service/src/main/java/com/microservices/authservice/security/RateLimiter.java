@@ -0,0 +1,182 @@
+package com.microservices.authservice.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets with progressive lockout.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the GCRA "theoretical
+ * arrival time", so taking a token is one compare-and-set and never blocks;
+ * the map itself is a {@link ConcurrentHashMap}. Memory is bounded: keys idle
+ * for longer than {@code idleNanos} are swept out, and if the map is still
+ * full, unlocked keys are dropped until it is back under 90%. Locked keys are
+ * never dropped, so if the sweep cannot make room, new keys are not tracked:
+ * they share one overflow bucket, which is rate limited but never locked,
+ * and a full map is swept again at most once a second.
+ * All times are {@link System#nanoTime()} values.
+ */
+final class RateLimiter {
+
+    private static final int SWEEP_EVERY = 4096;
+    private static final long FULL_SWEEP_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int lockoutThreshold;
+    private final long lockoutBaseNanos;
+    private final long lockoutMaxNanos;
+    private final int maxEntries;
+    private final long idleNanos;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger insertions = new AtomicInteger();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final Bucket overflow;
+    private volatile long nextFullSweep;
+
+    RateLimiter(int capacity, long intervalNanos, int lockoutThreshold, long lockoutBaseNanos,
+                long lockoutMaxNanos, int maxEntries, long idleNanos, LongSupplier clock) {
+        this.intervalNanos = intervalNanos;
+        this.toleranceNanos = intervalNanos * (Math.max(capacity, 1) - 1);
+        this.lockoutThreshold = lockoutThreshold;
+        this.lockoutBaseNanos = lockoutBaseNanos;
+        this.lockoutMaxNanos = lockoutMaxNanos;
+        this.maxEntries = maxEntries;
+        this.idleNanos = idleNanos;
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.overflow = new Bucket(now);
+        this.nextFullSweep = now;
+    }
+
+    /**
+     * Takes one token for {@code key}. Returns 0 if allowed, otherwise how
+     * many nanoseconds to wait before the next attempt can succeed.
+     */
+    long acquire(String key) {
+        long now = clock.getAsLong();
+        Bucket bucket = bucket(key, now);
+        bucket.lastSeen = now;
+
+        long locked = bucket.lockedUntil.get() - now;
+        if (locked > 0) {
+            return locked;
+        }
+        for (;;) {
+            long tat = bucket.tat.get();
+            long start = Math.max(tat, now);
+            long wait = start - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.tat.compareAndSet(tat, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Remaining lockout for {@code key} without taking a token.
+     */
+    long lockedFor(String key) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            return 0;
+        }
+        return Math.max(0, bucket.lockedUntil.get() - clock.getAsLong());
+    }
+
+    void failure(String key) {
+        long now = clock.getAsLong();
+        Bucket bucket = bucket(key, now);
+        if (bucket == overflow) {
+            // Locking the shared bucket would lock out every untracked key
+            return;
+        }
+        int failures = bucket.failures.incrementAndGet();
+        if (failures >= lockoutThreshold) {
+            int doublings = failures - lockoutThreshold;
+            long lockout = doublings >= Long.numberOfLeadingZeros(lockoutBaseNanos) - 1
+                    ? lockoutMaxNanos
+                    : Math.min(lockoutBaseNanos << doublings, lockoutMaxNanos);
+            bucket.lockedUntil.accumulateAndGet(now + lockout, Math::max);
+        }
+    }
+
+    void success(String key) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.failures.set(0);
+        }
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private Bucket bucket(String key, long now) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxEntries) {
+            if (now - nextFullSweep >= 0) {
+                sweep(now);
+            }
+            if (buckets.size() >= maxEntries) {
+                return overflow;
+            }
+        } else if (insertions.incrementAndGet() % SWEEP_EVERY == 0) {
+            sweep(now);
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(now));
+    }
+
+    /**
+     * Drops idle buckets, then unlocked ones if the map is still too full.
+     * Only one thread sweeps at a time; the others carry on. If locked
+     * buckets keep the map full, the next full sweep waits a second.
+     */
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> now - bucket.lastSeen > idleNanos);
+
+            int target = maxEntries - maxEntries / 10;
+            Iterator<Map.Entry<String, Bucket>> it = buckets.entrySet().iterator();
+            while (buckets.size() >= target && it.hasNext()) {
+                if (it.next().getValue().lockedUntil.get() - now <= 0) {
+                    it.remove();
+                }
+            }
+            if (buckets.size() >= target) {
+                nextFullSweep = now + FULL_SWEEP_BACKOFF_NANOS;
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static final class Bucket {
+        private final AtomicLong tat;
+        private final AtomicLong lockedUntil;
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile long lastSeen;
+
+        private Bucket(long now) {
+            this.tat = new AtomicLong(now);
+            this.lockedUntil = new AtomicLong(now);
+            this.lastSeen = now;
+        }
+    }
+}
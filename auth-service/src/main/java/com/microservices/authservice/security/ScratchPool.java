@@ -0,0 +1,56 @@
+package com.microservices.authservice.security;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Small lock-free pool of reusable, non-thread-safe helpers (a {@code Mac},
+ * a {@code MessageDigest}, scratch buffers).
+ * <p>
+ * Replaces per-thread caches: with virtual threads every request runs on a
+ * fresh thread, so a {@link ThreadLocal} would build a new instance per call.
+ * Slots are striped by the calling thread's identity hash; a borrower takes a
+ * slot with {@code getAndSet(null)} and puts the instance back with a CAS.
+ * A miss creates a new instance and a full slot drops the returned one, so
+ * the pool never blocks and holds at most {@code 2 * cores} instances.
+ */
+final class ScratchPool<T> {
+
+    private static final int PROBES = 2;
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final Supplier<T> factory;
+
+    ScratchPool(Supplier<T> factory) {
+        int capacity = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.factory = factory;
+    }
+
+    T borrow() {
+        int start = probe();
+        for (int i = 0; i < PROBES; i++) {
+            T value = slots.getAndSet((start + i) & mask, null);
+            if (value != null) {
+                return value;
+            }
+        }
+        return factory.get();
+    }
+
+    void release(T value) {
+        int start = probe();
+        for (int i = 0; i < PROBES; i++) {
+            if (slots.compareAndSet((start + i) & mask, null, value)) {
+                return;
+            }
+        }
+    }
+
+    private static int probe() {
+        int h = System.identityHashCode(Thread.currentThread()) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,50 @@
+package com.microservices.authservice.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.microservices.authservice.service.LoginMetrics;
+
+/**
+ * {@link DaoAuthenticationProvider} that times the user lookup and the
+ * password check separately.
+ */
+public class TimedDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final LoginMetrics loginMetrics;
+
+    public TimedDaoAuthenticationProvider(LoginMetrics loginMetrics) {
+        this.loginMetrics = loginMetrics;
+    }
+
+    /**
+     * {@code retrieveUser} is final, so the lookup is timed around the
+     * {@link UserDetailsService} instead.
+     */
+    @Override
+    public void setUserDetailsService(UserDetailsService userDetailsService) {
+        super.setUserDetailsService(username -> {
+            long start = System.nanoTime();
+            try {
+                return userDetailsService.loadUserByUsername(username);
+            } finally {
+                loginMetrics.recordLookup(System.nanoTime() - start);
+            }
+        });
+    }
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication)
+            throws AuthenticationException {
+        long start = System.nanoTime();
+        try {
+            super.additionalAuthenticationChecks(userDetails, authentication);
+        } finally {
+            loginMetrics.recordVerify(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.microservices.authservice.security;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Compact in-memory set of revoked token ids.
+ * <p>
+ * A token id is 128 random bits, stored as two {@code long}s next to the
+ * token's expiry in open-addressed primitive arrays (24 bytes per entry, no
+ * boxing). Lookups are lock-free in the common case (an optimistic read of a
+ * {@link StampedLock}) and short-circuit entirely while the set is empty.
+ * Entries are dropped once the token they block has expired: expired slots
+ * never match, and the first lookup after the earliest entry has expired
+ * purges them (at most once a second), so the set becomes empty again.
+ */
+final class TokenDenylist {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long MIN_PURGE_INTERVAL_MILLIS = 1000;
+
+    private final StampedLock lock = new StampedLock();
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private volatile int size;
+    private volatile long nextPurgeMillis = Long.MAX_VALUE;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(long hi, long lo, long nowMillis) {
+        if (size == 0) {
+            return false;
+        }
+        if (nowMillis >= nextPurgeMillis) {
+            purgeIfDue(nowMillis);
+            if (size == 0) {
+                return false;
+            }
+        }
+        long stamp = lock.tryOptimisticRead();
+        boolean found = table.contains(hi, lo, nowMillis);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = table.contains(hi, lo, nowMillis);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    void add(long hi, long lo, long expiresAtMillis, long nowMillis) {
+        if (expiresAtMillis <= nowMillis) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            Table current = table;
+            if ((size + 1) * 2 > current.capacity() || nowMillis >= nextPurgeMillis) {
+                current = rebuild(current, nowMillis);
+                table = current;
+            }
+            if (current.insert(hi, lo, expiresAtMillis)) {
+                size++;
+            }
+            nextPurgeMillis = Math.min(nextPurgeMillis, expiresAtMillis);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Purges expired entries if one is due, unless another thread holds the
+     * lock; that thread is either purging or adding, which purges as well.
+     */
+    void purgeIfDue(long nowMillis) {
+        if (nowMillis < nextPurgeMillis) {
+            return;
+        }
+        long stamp = lock.tryWriteLock();
+        if (stamp == 0) {
+            return;
+        }
+        try {
+            if (nowMillis >= nextPurgeMillis) {
+                table = rebuild(table, nowMillis);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Drops expired entries without waiting for the next rebuild.
+     */
+    void purgeExpired(long nowMillis) {
+        long stamp = lock.writeLock();
+        try {
+            table = rebuild(table, nowMillis);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies live entries into a table sized for about a quarter load factor.
+     * Called with the write lock held.
+     */
+    private Table rebuild(Table current, long nowMillis) {
+        int live = 0;
+        long earliest = Long.MAX_VALUE;
+        for (int i = 0; i < current.capacity(); i++) {
+            if (current.expiresAt[i] > nowMillis) {
+                live++;
+                earliest = Math.min(earliest, current.expiresAt[i]);
+            }
+        }
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < (live + 1) * 4) {
+            capacity <<= 1;
+        }
+        Table rebuilt = new Table(capacity);
+        for (int i = 0; i < current.capacity(); i++) {
+            if (current.expiresAt[i] > nowMillis) {
+                rebuilt.insert(current.hi[i], current.lo[i], current.expiresAt[i]);
+            }
+        }
+        size = live;
+        nextPurgeMillis = live == 0
+                ? Long.MAX_VALUE
+                : Math.max(earliest, nowMillis + MIN_PURGE_INTERVAL_MILLIS);
+        return rebuilt;
+    }
+
+    /**
+     * Linear-probing table; a zero expiry marks an empty slot.
+     */
+    private static final class Table {
+        private final long[] hi;
+        private final long[] lo;
+        private final long[] expiresAt;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.hi = new long[capacity];
+            this.lo = new long[capacity];
+            this.expiresAt = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private int capacity() {
+            return mask + 1;
+        }
+
+        private static int slot(long hi, long lo) {
+            long h = (hi ^ lo) * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+
+        private boolean contains(long keyHi, long keyLo, long nowMillis) {
+            for (int i = slot(keyHi, keyLo) & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                long expiry = expiresAt[i];
+                if (expiry == 0) {
+                    return false;
+                }
+                if (hi[i] == keyHi && lo[i] == keyLo) {
+                    return expiry > nowMillis;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns true if a new slot was taken, false if the id was already present.
+         */
+        private boolean insert(long keyHi, long keyLo, long expiry) {
+            for (int i = slot(keyHi, keyLo) & mask; ; i = (i + 1) & mask) {
+                if (expiresAt[i] == 0) {
+                    hi[i] = keyHi;
+                    lo[i] = keyLo;
+                    expiresAt[i] = expiry;
+                    return true;
+                }
+                if (hi[i] == keyHi && lo[i] == keyLo) {
+                    expiresAt[i] = Math.max(expiresAt[i], expiry);
+                    return false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.microservices.authservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.microservices.authservice.config.JwtProperties;
+
+/**
+ * Bounded cache of successful token validations.
+ * Entries are keyed by the SHA-256 digest of the token (raw bearer tokens are
+ * never kept in memory) and never outlive the token's own {@code exp}.
+ */
+@Component
+public class TokenValidationCache {
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<TokenKey, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private static final ScratchPool<MessageDigest> SHA_256 = new ScratchPool<>(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    public TokenValidationCache(JwtProperties jwtProperties) {
+        JwtProperties.Cache cache = jwtProperties.getCache();
+        this.enabled = cache.isEnabled() && cache.getMaxSize() > 0;
+        this.maxSize = cache.getMaxSize();
+        this.ttlMillis = cache.getTtl();
+    }
+
+    /**
+     * Returns the cached validation for the token, or null on a miss.
+     */
+    public VerifiedToken get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        TokenKey key = TokenKey.of(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.token;
+    }
+
+    public void put(String token, VerifiedToken verified) {
+        if (!enabled || verified.getExpiration() == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(verified.getExpiration().toEpochMilli(), now + ttlMillis);
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(TokenKey.of(token), new Entry(verified, expiresAt));
+    }
+
+    /**
+     * Drops every cached validation for the given user and returns how many
+     * there were. Hits skip the user lookup, so this must run whenever the
+     * user is changed, disabled or deleted; Admin Service does so through
+     * {@code DELETE /api/auth/validation-cache}.
+     */
+    public int invalidateUser(String username) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.token.getSubject().equals(username));
+        return Math.max(0, before - entries.size());
+    }
+
+    public void invalidate(String token) {
+        entries.remove(TokenKey.of(token));
+    }
+
+    public int invalidateAll() {
+        int before = entries.size();
+        entries.clear();
+        return before;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes expired entries first; if the cache is still full, drops about
+     * a tenth of it so that a saturated cache doesn't sweep on every put.
+     */
+    private void evict(long now) {
+        Iterator<Map.Entry<TokenKey, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getValue().isExpired(now)) {
+                it.remove();
+                evictions.increment();
+            }
+        }
+
+        int target = maxSize - Math.max(1, maxSize / 10);
+        it = entries.entrySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry {
+        private final VerifiedToken token;
+        private final long expiresAtMillis;
+
+        private Entry(VerifiedToken token, long expiresAtMillis) {
+            this.token = token;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+
+    private static final class TokenKey {
+        private final byte[] digest;
+        private final int hash;
+
+        private TokenKey(byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        static TokenKey of(String token) {
+            MessageDigest digest = SHA_256.borrow();
+            TokenKey key = new TokenKey(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            SHA_256.release(digest);
+            return key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TokenKey other && Arrays.equals(digest, other.digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.microservices.authservice.security;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Immutable result of a successful signature and expiry check.
+ * Produced once per token by {@link JwtService#verify(String)} so callers
+ * never have to parse the same token twice.
+ */
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Instant issuedAt;
+    private final Instant expiration;
+    private final Claims claims;
+
+    VerifiedToken(Claims claims) {
+        this.subject = claims.getSubject();
+        this.issuedAt = toInstant(claims.getIssuedAt());
+        this.expiration = toInstant(claims.getExpiration());
+        this.claims = claims;
+    }
+
+    /**
+     * The {@code jti} claim; null for tokens issued before ids were introduced.
+     */
+    public String getId() {
+        return claims.getId();
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiration() {
+        return expiration;
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    /**
+     * Null for tokens issued before the claim was introduced.
+     */
+    public Long getUserId() {
+        return claims.get(JwtService.CLAIM_USER_ID, Long.class);
+    }
+
+    public String getRole() {
+        return claims.get(JwtService.CLAIM_ROLE, String.class);
+    }
+
+    /**
+     * Granted authorities carried by the token, or null if it has none
+     * (tokens issued before the claim was introduced).
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        Object value = claims.get(JwtService.CLAIM_AUTHORITIES);
+        if (!(value instanceof Collection<?> names)) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(names.size());
+        for (Object name : names) {
+            authorities.add(new SimpleGrantedAuthority(String.valueOf(name)));
+        }
+        return authorities;
+    }
+
+    public <T> T getClaim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiration != null && !expiration.isAfter(now);
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+}
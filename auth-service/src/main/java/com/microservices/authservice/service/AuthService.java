@@ -1,5 +1,17 @@
 package com.microservices.authservice.service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -14,38 +26,49 @@ import com.microservices.authservice.exception.BadRequestException;
 import com.microservices.authservice.exception.NotFoundException;
 import com.microservices.authservice.repository.UserRepository;
 import com.microservices.authservice.security.JwtService;
+import com.microservices.authservice.security.TokenValidationCache;
+import com.microservices.authservice.security.VerifiedToken;
 
 @Service
 public class AuthService {
 
+    /**
+     * Below this many cache misses a batch is verified on the calling thread.
+     */
+    private static final int PARALLEL_VERIFY_THRESHOLD = 64;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final TokenValidationCache tokenValidationCache;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginMetrics loginMetrics;
 
     public AuthService(
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             JwtService jwtService,
-            AuthenticationManager authenticationManager
+            AuthenticationManager authenticationManager,
+            TokenValidationCache tokenValidationCache,
+            RefreshTokenService refreshTokenService,
+            LoginMetrics loginMetrics
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
+        this.tokenValidationCache = tokenValidationCache;
+        this.refreshTokenService = refreshTokenService;
+        this.loginMetrics = loginMetrics;
     }
 
+    /**
+     * Inserts straight away and lets the unique constraints catch duplicates,
+     * so the common path is a single statement and concurrent registrations
+     * of the same name cannot both succeed.
+     */
     public AuthResponse register(RegisterRequest request) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new BadRequestException("Username already exists");
-        }
-
-        // Check if email already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new BadRequestException("Email already exists");
-        }
-
         // Create new user
         User user = new User();
         user.setUsername(request.getUsername());
@@ -54,45 +77,210 @@ public class AuthService {
         user.setRole(Role.USER);
         user.setEnabled(true);
 
-        userRepository.save(user);
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateUser(e, request);
+        }
 
         var jwtToken = jwtService.generateToken(user);
+        var refreshToken = refreshTokenService.issue(user);
 
         return new AuthResponse(
             jwtToken,
+            refreshToken,
             user.getUsername(),
             user.getEmail(),
             "User registered successfully"
         );
     }
 
+    /**
+     * Maps a unique-key violation on insert to the matching message. Falls back
+     * to lookups when the constraint name is not ours (e.g. a schema created
+     * before the constraints were named); anything else is rethrown.
+     */
+    private RuntimeException duplicateUser(DataIntegrityViolationException e, RegisterRequest request) {
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            String constraint = violation.getConstraintName().toLowerCase(Locale.ROOT);
+            if (constraint.contains(User.UK_USERNAME)) {
+                return new BadRequestException("Username already exists");
+            }
+            if (constraint.contains(User.UK_EMAIL)) {
+                return new BadRequestException("Email already exists");
+            }
+        }
+        if (userRepository.existsByUsername(request.getUsername())) {
+            return new BadRequestException("Username already exists");
+        }
+        if (userRepository.existsByEmail(request.getEmail())) {
+            return new BadRequestException("Email already exists");
+        }
+        return e;
+    }
+
+    /**
+     * The authenticated principal is the {@link User} loaded by the
+     * authentication provider, so the user is read from the database once.
+     */
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
+        var authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getUsername(),
                         request.getPassword()
                 )
         );
 
-        var user = userRepository.findByUsername(request.getUsername())
-            .orElseThrow(() -> new NotFoundException("User not found"));
+        if (!(authentication.getPrincipal() instanceof User user)) {
+            throw new NotFoundException("User not found");
+        }
 
+        long start = System.nanoTime();
         var jwtToken = jwtService.generateToken(user);
+        long issued = System.nanoTime();
+        var refreshToken = refreshTokenService.issue(user);
+        loginMetrics.recordToken(issued - start);
+        loginMetrics.recordRefresh(System.nanoTime() - issued);
 
         return new AuthResponse(
             jwtToken,
+            refreshToken,
             user.getUsername(),
             user.getEmail(),
             "Login successful"
         );
     }
 
-    public boolean validateToken(String token, String username) {
-        if (token == null || token.isBlank() || username == null || username.isBlank()) {
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh
+     * token. No password check, so renewals never pay for BCrypt.
+     */
+    public AuthResponse refresh(String refreshToken) {
+        var rotation = refreshTokenService.rotate(refreshToken);
+        var user = rotation.getUser();
+
+        var jwtToken = jwtService.generateToken(user);
+
+        return new AuthResponse(
+            jwtToken,
+            rotation.getRefreshToken(),
+            user.getUsername(),
+            user.getEmail(),
+            "Token refreshed"
+        );
+    }
+
+    /**
+     * Validates a raw token, answering repeat validations from the cache
+     * without re-checking the signature or hitting the database.
+     * Returns null if the token is invalid.
+     */
+    public VerifiedToken validateToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        VerifiedToken cached = tokenValidationCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        return completeValidation(token, jwtService.safeVerify(token));
+    }
+
+    /**
+     * Second half of {@link #validateToken(String)} for callers that already
+     * missed the cache and checked the signature: the user lookup, then caching.
+     */
+    public VerifiedToken completeValidation(String token, VerifiedToken verified) {
+        if (!validateToken(verified)) {
+            return null;
+        }
+
+        tokenValidationCache.put(token, verified);
+        return verified;
+    }
+
+    /**
+     * Validates many tokens at once. Results are in input order, null for
+     * invalid tokens. Cache misses are signature-checked (in parallel for
+     * large batches) and their users are loaded with a single query.
+     */
+    public List<VerifiedToken> validateTokens(List<String> tokens) {
+        VerifiedToken[] results = new VerifiedToken[tokens.size()];
+        List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (token == null || token.isBlank()) {
+                continue;
+            }
+            results[i] = tokenValidationCache.get(token);
+            if (results[i] == null) {
+                misses.add(i);
+            }
+        }
+        if (misses.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        VerifiedToken[] verified = new VerifiedToken[misses.size()];
+        IntStream indexes = IntStream.range(0, misses.size());
+        if (misses.size() >= PARALLEL_VERIFY_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(m -> verified[m] = jwtService.safeVerify(tokens.get(misses.get(m))));
+
+        List<String> missedTokens = new ArrayList<>(misses.size());
+        for (int i : misses) {
+            missedTokens.add(tokens.get(i));
+        }
+        List<VerifiedToken> completed = completeValidations(missedTokens, Arrays.asList(verified));
+        for (int m = 0; m < completed.size(); m++) {
+            results[misses.get(m)] = completed.get(m);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Batch form of {@link #completeValidation}: loads the users of all
+     * signature-checked tokens with a single query. {@code verified} holds
+     * null for tokens that already failed; results are in input order.
+     */
+    public List<VerifiedToken> completeValidations(List<String> tokens, List<VerifiedToken> verified) {
+        Set<String> usernames = new HashSet<>();
+        for (VerifiedToken token : verified) {
+            if (token != null && token.getSubject() != null && !token.getSubject().isBlank()) {
+                usernames.add(token.getSubject());
+            }
+        }
+        Map<String, User> users = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            for (User user : userRepository.findByUsernameIn(usernames)) {
+                users.put(user.getUsername(), user);
+            }
+        }
+
+        VerifiedToken[] results = new VerifiedToken[verified.size()];
+        for (int i = 0; i < results.length; i++) {
+            VerifiedToken token = verified.get(i);
+            if (token == null) {
+                continue;
+            }
+            User user = users.get(token.getSubject());
+            if (user != null && jwtService.isTokenValid(token, user)) {
+                results[i] = token;
+                tokenValidationCache.put(tokens.get(i), token);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    public boolean validateToken(VerifiedToken token) {
+        if (token == null || token.getSubject() == null || token.getSubject().isBlank()) {
             return false;
         }
 
-        var userOpt = userRepository.findByUsername(username);
+        var userOpt = userRepository.findByUsername(token.getSubject());
         if (userOpt.isEmpty()) {
             return false;
         }
@@ -100,6 +288,37 @@ public class AuthService {
         return jwtService.isTokenValid(token, userOpt.get());
     }
 
+    /**
+     * Revokes the token until it expires; later validations reject it.
+     */
+    public void revokeToken(String token) {
+        VerifiedToken verified = jwtService.safeVerify(token);
+        if (verified == null) {
+            throw new BadRequestException("Invalid token");
+        }
+        if (!jwtService.revoke(verified)) {
+            throw new BadRequestException("Token cannot be revoked");
+        }
+        tokenValidationCache.invalidate(token);
+    }
+
+    /**
+     * Forgets cached validations of the user (all users when null), so their
+     * next validation looks the user up again. Returns how many were dropped.
+     */
+    public int invalidateValidations(String username) {
+        return username != null
+                ? tokenValidationCache.invalidateUser(username)
+                : tokenValidationCache.invalidateAll();
+    }
+
+    /**
+     * Ends the refresh-token family, so the session cannot be renewed.
+     */
+    public void revokeRefreshToken(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
+
     public String extractUsername(String token) {
         return jwtService.safeExtractUsername(token);
     }
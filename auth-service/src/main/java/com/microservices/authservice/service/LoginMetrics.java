@@ -0,0 +1,60 @@
+package com.microservices.authservice.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Per-stage latency of the login pipeline, published as {@code login.stage}
+ * tagged with {@code stage}: {@code lookup} (loading the user),
+ * {@code verify} (password check), {@code token} (access token),
+ * {@code refresh} (refresh token insert) and {@code serialization}
+ * (writing the response body).
+ */
+@Component
+public class LoginMetrics {
+
+    private final Timer lookup;
+    private final Timer verify;
+    private final Timer token;
+    private final Timer refresh;
+    private final Timer serialization;
+
+    public LoginMetrics(MeterRegistry registry) {
+        this.lookup = stage(registry, "lookup");
+        this.verify = stage(registry, "verify");
+        this.token = stage(registry, "token");
+        this.refresh = stage(registry, "refresh");
+        this.serialization = stage(registry, "serialization");
+    }
+
+    public void recordLookup(long nanos) {
+        lookup.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordVerify(long nanos) {
+        verify.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordToken(long nanos) {
+        token.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRefresh(long nanos) {
+        refresh.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSerialization(long nanos) {
+        serialization.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer stage(MeterRegistry registry, String stage) {
+        return Timer.builder("login.stage")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+}
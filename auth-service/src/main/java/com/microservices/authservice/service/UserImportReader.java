@@ -0,0 +1,160 @@
+package com.microservices.authservice.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.authservice.dto.ImportUserRequest;
+import com.microservices.authservice.exception.BadRequestException;
+
+/**
+ * Reads import rows one line at a time, so the input is never held in memory.
+ * NDJSON has one JSON object per line; CSV needs a header naming the
+ * {@code username}, {@code email}, {@code password} and optional {@code role}
+ * columns, and supports quoted fields (no embedded line breaks).
+ */
+public final class UserImportReader {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String[] COLUMNS = {"username", "email", "password", "role"};
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private final int[] columnIndex = new int[COLUMNS.length];
+    private int lineNumber;
+
+    UserImportReader(BufferedReader reader, Format format, ObjectMapper objectMapper) throws IOException {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == Format.CSV) {
+            readHeader();
+        }
+    }
+
+    /**
+     * Returns the next non-blank row, or null at the end of the input.
+     */
+    Row next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        return format == Format.CSV ? parseCsvRow(line) : parseJsonRow(line);
+    }
+
+    private void readHeader() throws IOException {
+        String header;
+        do {
+            header = reader.readLine();
+            if (header == null) {
+                throw new BadRequestException("CSV header is missing");
+            }
+            lineNumber++;
+        } while (header.isBlank());
+
+        List<String> names = parseCsvLine(header);
+        for (int c = 0; c < COLUMNS.length; c++) {
+            columnIndex[c] = -1;
+            for (int i = 0; i < names.size(); i++) {
+                if (names.get(i).trim().toLowerCase(Locale.ROOT).equals(COLUMNS[c])) {
+                    columnIndex[c] = i;
+                }
+            }
+        }
+        if (columnIndex[0] < 0 || columnIndex[1] < 0 || columnIndex[2] < 0) {
+            throw new BadRequestException("CSV header must contain username, email and password");
+        }
+    }
+
+    private Row parseJsonRow(String line) {
+        try {
+            return new Row(lineNumber, objectMapper.readValue(line, ImportUserRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new Row(lineNumber, null, "Malformed row");
+        }
+    }
+
+    private Row parseCsvRow(String line) {
+        List<String> fields = parseCsvLine(line);
+        if (fields == null) {
+            return new Row(lineNumber, null, "Malformed row");
+        }
+        return new Row(lineNumber, new ImportUserRequest(
+                field(fields, 0), field(fields, 1), field(fields, 2), field(fields, 3)), null);
+    }
+
+    private String field(List<String> fields, int column) {
+        int index = columnIndex[column];
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits one CSV line; {@code ""} inside a quoted field is a literal quote.
+     * Returns null for an unterminated quote.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * A parsed row; {@code error} is set when the line could not be parsed.
+     */
+    static final class Row {
+        final int line;
+        final ImportUserRequest request;
+        final String error;
+
+        Row(int line, ImportUserRequest request, String error) {
+            this.line = line;
+            this.request = request;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.microservices.authservice.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.authservice.config.UserImportProperties;
+import com.microservices.authservice.dto.ImportUserRequest;
+import com.microservices.authservice.dto.ImportUserResult;
+import com.microservices.authservice.entity.Role;
+import com.microservices.authservice.entity.User;
+import com.microservices.authservice.repository.UserRepository;
+import com.microservices.authservice.security.BoundedPasswordEncoder;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk user import.
+ * <p>
+ * Rows are read as a stream and processed in chunks of {@code batchSize}:
+ * each row is validated with the same rules as registration, duplicates are
+ * found with one query per column for the whole chunk, passwords are hashed in
+ * parallel, and the chunk is written with a single JDBC batch. The result of
+ * every row is written to the report as soon as its chunk is done.
+ */
+@Service
+public class UserImportService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_USER =
+            "insert into users (username, email, password, role, enabled, created_at) values (?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final ExecutorService hashExecutor;
+
+    public UserImportService(
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PasswordEncoder passwordEncoder,
+            Validator validator,
+            ObjectMapper objectMapper,
+            UserImportProperties properties
+    ) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Imports bring their own threads rather than competing with logins for the bounded pool
+        this.passwordEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.getDelegate()
+                : passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = properties.getBatchSize();
+        this.hashExecutor = Executors.newFixedThreadPool(properties.getHashThreads());
+    }
+
+    /**
+     * Opens the input; a CSV header is read and checked here, so a bad file
+     * fails before any of the report has been written.
+     */
+    public UserImportReader open(InputStream input, UserImportReader.Format format) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        return new UserImportReader(reader, format, objectMapper);
+    }
+
+    /**
+     * Imports every row and writes one NDJSON result per row, followed by a
+     * summary line with the created and failed counts.
+     */
+    public void importUsers(UserImportReader reader, OutputStream out) throws IOException {
+        List<UserImportReader.Row> chunk = new ArrayList<>(batchSize);
+        int created = 0;
+        int failed = 0;
+
+        UserImportReader.Row row;
+        do {
+            row = reader.next();
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (!chunk.isEmpty() && (row == null || chunk.size() == batchSize)) {
+                for (ImportUserResult result : importChunk(chunk)) {
+                    if (ImportUserResult.CREATED.equals(result.getStatus())) {
+                        created++;
+                    } else {
+                        failed++;
+                    }
+                    out.write(objectMapper.writeValueAsBytes(result));
+                    out.write('\n');
+                }
+                out.flush();
+                chunk.clear();
+            }
+        } while (row != null);
+
+        Map<String, Integer> summary = new LinkedHashMap<>();
+        summary.put("created", created);
+        summary.put("failed", failed);
+        out.write(objectMapper.writeValueAsBytes(summary));
+        out.write('\n');
+        out.flush();
+        log.info("User import finished: {} created, {} failed", created, failed);
+    }
+
+    private ImportUserResult[] importChunk(List<UserImportReader.Row> rows) {
+        ImportUserResult[] results = new ImportUserResult[rows.size()];
+        List<Integer> candidates = new ArrayList<>(rows.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+
+        for (int i = 0; i < rows.size(); i++) {
+            UserImportReader.Row row = rows.get(i);
+            String error = row.error != null ? row.error : validate(row.request);
+            if (error == null && !usernames.add(key(row.request.getUsername()))) {
+                error = "Username already exists";
+            } else if (error == null && !emails.add(key(row.request.getEmail()))) {
+                error = "Email already exists";
+            }
+            if (error != null) {
+                results[i] = failed(row, error);
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        rejectExisting(rows, candidates, results);
+        if (candidates.isEmpty()) {
+            return results;
+        }
+
+        List<String> hashes = hash(rows, candidates);
+        insert(rows, candidates, hashes, results);
+        return results;
+    }
+
+    private String validate(ImportUserRequest request) {
+        Set<ConstraintViolation<ImportUserRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        // Report the first field in declaration order, like a form would
+        for (String field : new String[] {"username", "email", "password", "role"}) {
+            for (ConstraintViolation<ImportUserRequest> violation : violations) {
+                if (violation.getPropertyPath().toString().equals(field)) {
+                    return violation.getMessage();
+                }
+            }
+        }
+        return violations.iterator().next().getMessage();
+    }
+
+    /**
+     * Drops candidates whose username or email is already taken, using one
+     * query per column for the whole chunk.
+     */
+    private void rejectExisting(List<UserImportReader.Row> rows, List<Integer> candidates,
+                                ImportUserResult[] results) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        List<String> usernames = new ArrayList<>(candidates.size());
+        List<String> emails = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            usernames.add(rows.get(i).request.getUsername());
+            emails.add(rows.get(i).request.getEmail());
+        }
+        Set<String> takenUsernames = keys(userRepository.findExistingUsernames(usernames));
+        Set<String> takenEmails = keys(userRepository.findExistingEmails(emails));
+
+        candidates.removeIf(i -> {
+            ImportUserRequest request = rows.get(i).request;
+            if (takenUsernames.contains(key(request.getUsername()))) {
+                results[i] = failed(rows.get(i), "Username already exists");
+                return true;
+            }
+            if (takenEmails.contains(key(request.getEmail()))) {
+                results[i] = failed(rows.get(i), "Email already exists");
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private List<String> hash(List<UserImportReader.Row> rows, List<Integer> candidates) {
+        List<Future<String>> futures = new ArrayList<>(candidates.size());
+        for (int i : candidates) {
+            String password = rows.get(i).request.getPassword();
+            futures.add(hashExecutor.submit(() -> passwordEncoder.encode(password)));
+        }
+        List<String> hashes = new ArrayList<>(futures.size());
+        try {
+            for (Future<String> future : futures) {
+                hashes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("User import was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+        return hashes;
+    }
+
+    /**
+     * Inserts the chunk as one batch in one transaction. If a row collides
+     * with a concurrent registration the batch is rolled back and the rows
+     * are retried one by one, so only the colliding rows fail.
+     */
+    private void insert(List<UserImportReader.Row> rows, List<Integer> candidates, List<String> hashes,
+                        ImportUserResult[] results) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(candidates.size());
+        for (int c = 0; c < candidates.size(); c++) {
+            args.add(insertArgs(rows.get(candidates.get(c)).request, hashes.get(c), now));
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER, args));
+            for (int i : candidates) {
+                results[i] = created(rows.get(i));
+            }
+            return;
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Import batch collided with existing users, retrying row by row");
+        }
+
+        for (int c = 0; c < candidates.size(); c++) {
+            int i = candidates.get(c);
+            try {
+                jdbcTemplate.update(INSERT_USER, args.get(c));
+                results[i] = created(rows.get(i));
+            } catch (DataIntegrityViolationException e) {
+                results[i] = failed(rows.get(i), insertFailure(rows.get(i), e));
+            }
+        }
+    }
+
+    /**
+     * Names the unique key a row collided with, like {@code AuthService}
+     * does on registration. Any other violation (a value too long, a bad
+     * role) is reported as a plain insert failure and logged.
+     */
+    private static String insertFailure(UserImportReader.Row row, DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMessage()).toLowerCase(Locale.ROOT);
+        if (message.contains(User.UK_USERNAME)) {
+            return "Username already exists";
+        }
+        if (message.contains(User.UK_EMAIL)) {
+            return "Email already exists";
+        }
+        log.warn("Import line {} could not be inserted: {}", row.line, e.getMostSpecificCause().getMessage());
+        return "Could not insert user";
+    }
+
+    private static Object[] insertArgs(ImportUserRequest request, String hash, Timestamp now) {
+        String role = request.getRole() != null ? request.getRole() : Role.USER.name();
+        return new Object[] {request.getUsername(), request.getEmail(), hash, role, true, now};
+    }
+
+    private static ImportUserResult created(UserImportReader.Row row) {
+        return new ImportUserResult(row.line, row.request.getUsername(), ImportUserResult.CREATED, null);
+    }
+
+    private static ImportUserResult failed(UserImportReader.Row row, String message) {
+        String username = row.request != null ? row.request.getUsername() : null;
+        return new ImportUserResult(row.line, username, ImportUserResult.FAILED, message);
+    }
+
+    /**
+     * Usernames and emails compare case-insensitively, like the column collation.
+     */
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> keys(List<String> values) {
+        Set<String> keys = new HashSet<>(values.size() * 2);
+        for (String value : values) {
+            keys.add(key(value));
+        }
+        return keys;
+    }
+
+    @Override
+    public void destroy() {
+        hashExecutor.shutdown();
+    }
+}
@@ -0,0 +1,77 @@
+package com.microservices.authservice.api;
+
+import com.microservices.authservice.config.JwtProperties;
+import com.microservices.authservice.entity.Role;
+import com.microservices.authservice.entity.User;
+import com.microservices.authservice.security.JwtService;
+import com.microservices.authservice.security.VerifiedToken;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationWireTest {
+
+    private static byte[] request(String... tokens) {
+        ByteBuffer out = ByteBuffer.allocate(1024);
+        out.put(ValidationWire.VERSION);
+        out.putShort((short) tokens.length);
+        for (String token : tokens) {
+            out.putShort((short) token.length());
+            out.put(token.getBytes(StandardCharsets.US_ASCII));
+        }
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    @Test
+    void testDecodesRequestFrame() {
+        byte[] frame = request("a.b.c", "d.e.f");
+
+        assertEquals(List.of("a.b.c", "d.e.f"), ValidationWire.decodeRequest(frame, frame.length));
+    }
+
+    @Test
+    void testRejectsMalformedRequestFrames() {
+        byte[] frame = request("a.b.c");
+
+        assertNull(ValidationWire.decodeRequest(frame, frame.length - 1));
+        assertNull(ValidationWire.decodeRequest(Arrays.copyOf(frame, frame.length + 1), frame.length + 1));
+        assertNull(ValidationWire.decodeRequest(request(), 3));
+        frame[0] = 9;
+        assertNull(ValidationWire.decodeRequest(frame, frame.length));
+        assertNull(ValidationWire.decodeRequest(new byte[0], 0));
+    }
+
+    @Test
+    void testEncodesResultsInOrder() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        properties.setExpiration(60_000L);
+        JwtService jwtService = new JwtService(properties);
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("иван");
+        user.setRole(Role.ADMIN);
+        VerifiedToken token = jwtService.verify(jwtService.generateToken(user));
+
+        ByteBuffer in = ByteBuffer.wrap(ValidationWire.encodeResults(Arrays.asList(null, token)));
+
+        assertEquals(ValidationWire.VERSION, in.get());
+        assertEquals(2, in.getShort());
+        assertEquals(ValidationWire.INVALID, in.get());
+        assertEquals(ValidationWire.VALID, in.get());
+        assertEquals(42L, in.getLong());
+        assertEquals(token.getExpiration().toEpochMilli(), in.getLong());
+        byte[] role = new byte[in.get()];
+        in.get(role);
+        assertEquals("ADMIN", new String(role, StandardCharsets.UTF_8));
+        byte[] username = new byte[in.getShort()];
+        in.get(username);
+        assertEquals("иван", new String(username, StandardCharsets.UTF_8));
+        assertFalse(in.hasRemaining());
+    }
+}
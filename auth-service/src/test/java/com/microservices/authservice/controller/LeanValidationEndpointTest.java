@@ -0,0 +1,76 @@
+package com.microservices.authservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.authservice.config.JwtProperties;
+import com.microservices.authservice.dto.ValidateTokenResponse;
+import com.microservices.authservice.entity.Role;
+import com.microservices.authservice.entity.User;
+import com.microservices.authservice.security.JwtService;
+import com.microservices.authservice.security.VerifiedToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeanValidationEndpointTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static String parse(String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        return LeanValidationEndpoint.parseToken(body, body.length);
+    }
+
+    @Test
+    void testParsesTokenFromFlatObject() {
+        assertEquals("a.b.c", parse("{\"token\":\"a.b.c\"}"));
+        assertEquals("a.b.c", parse(" {\n  \"other\": 1, \"token\" : \"a.b.c\", \"flag\": true }\n"));
+        assertEquals("", parse("{}"));
+        assertEquals("", parse("{\"token\":null}"));
+        assertEquals("", parse("{\"tokens\":\"a.b.c\"}"));
+    }
+
+    @Test
+    void testRejectsBodiesItDoesNotUnderstand() {
+        assertNull(parse(""));
+        assertNull(parse("[\"a.b.c\"]"));
+        assertNull(parse("{\"token\":\"a\\\"b\"}"));
+        assertNull(parse("{\"token\":\"a.b.c\""));
+        assertNull(parse("{\"token\":\"a.b.c\"} trailing"));
+        assertNull(parse("{\"token\":{\"nested\":true}}"));
+        assertNull(parse("{\"token\":42}"));
+    }
+
+    @Test
+    void testResponsesMatchTheControllerJson() throws Exception {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        properties.setExpiration(60_000L);
+        JwtService jwtService = new JwtService(properties);
+
+        for (String username : new String[] {"bob", "иван", "we\"ird\\name"}) {
+            User user = new User();
+            user.setId(1L);
+            user.setUsername(username);
+            user.setRole(Role.USER);
+            VerifiedToken token = jwtService.verify(jwtService.generateToken(user));
+
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            LeanValidationEndpoint.writeResult(response, token);
+
+            assertEquals(200, response.getStatus());
+            assertEquals(response.getContentLength(), response.getContentAsByteArray().length);
+            ValidateTokenResponse body = objectMapper.readValue(response.getContentAsByteArray(), ValidateTokenResponse.class);
+            assertTrue(body.isValid());
+            assertEquals(username, body.getUsername());
+            assertEquals("Token is valid", body.getMessage());
+        }
+
+        MockHttpServletResponse invalid = new MockHttpServletResponse();
+        LeanValidationEndpoint.writeResult(invalid, null);
+        assertEquals(objectMapper.writeValueAsString(new ValidateTokenResponse(false, null, "Token is invalid")),
+                invalid.getContentAsString());
+    }
+}
@@ -0,0 +1,130 @@
+package com.microservices.authservice.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HmacTokenEncoderTest {
+
+    private static final long IAT = 1_700_000_000_123L;
+    private static final long EXP = IAT + 86_400_000L;
+
+    private static String jjwt(SecretKey key, String keyId, String subject) {
+        return jjwt(key, keyId, subject, Map.of());
+    }
+
+    private static String jjwt(SecretKey key, String keyId, String subject, Map<String, Object> claims) {
+        return jjwt(key, keyId, subject, claims, null);
+    }
+
+    private static String jjwt(SecretKey key, String keyId, String subject, Map<String, Object> claims, String id) {
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .claims(claims)
+                .id(id)
+                .subject(subject)
+                .issuedAt(new Date(IAT))
+                .expiration(new Date(EXP))
+                .signWith(key)
+                .compact();
+    }
+
+    @Test
+    void testOutputMatchesJjwtForEveryHmacKeySize() {
+        for (String secret : new String[] {
+                "bXktMzItYnl0ZS1zZWNyZXQta2V5LWZvci1oczI1NiE=",
+                "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970",
+                "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970404E635266556A586E3272357538782F"}) {
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+            HmacTokenEncoder encoder = HmacTokenEncoder.create(key, null);
+
+            for (String subject : new String[] {"bob", "admin", "a", "ab", "abcd", "иван.петров"}) {
+                assertEquals(jjwt(key, null, subject), encoder.encode(subject, null, null, null, null, IAT, EXP), key.getAlgorithm() + "/" + subject);
+            }
+        }
+    }
+
+    @Test
+    void testOutputMatchesJjwtWithKeyId() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(
+                "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970"));
+        HmacTokenEncoder encoder = HmacTokenEncoder.create(key, "2026-10");
+
+        assertEquals(jjwt(key, "2026-10", "testuser"), encoder.encode("testuser", null, null, null, null, IAT, EXP));
+        // The per-thread buffers are reused; a shorter token afterwards must not carry stale bytes
+        assertEquals(jjwt(key, "2026-10", "x"), encoder.encode("x", null, null, null, null, IAT, EXP));
+    }
+
+    @Test
+    void testOutputMatchesJjwtWithUserClaims() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(
+                "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970"));
+        HmacTokenEncoder encoder = HmacTokenEncoder.create(key, null);
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put(JwtService.CLAIM_USER_ID, 42L);
+        claims.put(JwtService.CLAIM_ROLE, "ADMIN");
+        claims.put(JwtService.CLAIM_AUTHORITIES, List.of("ROLE_ADMIN"));
+
+        assertEquals(jjwt(key, null, "admin", claims),
+                encoder.encode("admin", 42L, "ADMIN", List.of("ROLE_ADMIN"), null, IAT, EXP));
+
+        assertEquals(jjwt(key, null, "admin", claims, "AAECAwQFBgcICQoLDA0ODw"),
+                encoder.encode("admin", 42L, "ADMIN", List.of("ROLE_ADMIN"), "AAECAwQFBgcICQoLDA0ODw", IAT, EXP));
+
+        Map<String, Object> noRole = new LinkedHashMap<>();
+        noRole.put(JwtService.CLAIM_AUTHORITIES, List.of());
+        assertEquals(jjwt(key, null, "admin", noRole),
+                encoder.encode("admin", null, null, List.of(), null, IAT, EXP));
+    }
+
+    @Test
+    void testSubjectsNeedingEscapesAreNotSupported() {
+        assertTrue(HmacTokenEncoder.supports("plain.user-1"));
+        assertFalse(HmacTokenEncoder.supports("quote\"user"));
+        assertFalse(HmacTokenEncoder.supports("back\\slash"));
+        assertFalse(HmacTokenEncoder.supports("tab\tuser"));
+    }
+
+    @Test
+    void testAsymmetricKeysAreNotSupported() {
+        assertNull(HmacTokenEncoder.create(Jwts.SIG.ES256.keyPair().build().getPrivate(), null));
+    }
+
+    @Test
+    void testPooledStateIsSafeAcrossConcurrentCallers() throws Exception {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(
+                "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970"));
+        HmacTokenEncoder encoder = HmacTokenEncoder.create(key, null);
+        java.util.concurrent.ExecutorService pool = java.util.concurrent.Executors.newFixedThreadPool(8);
+        try {
+            List<java.util.concurrent.Future<Boolean>> results = new java.util.ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                String subject = "user" + t;
+                String expected = jjwt(key, null, subject);
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        if (!expected.equals(encoder.encode(subject, null, null, null, null, IAT, EXP))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (java.util.concurrent.Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.microservices.authservice.security;
+
+import com.microservices.authservice.config.JwtProperties;
+import com.microservices.authservice.entity.Role;
+import com.microservices.authservice.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(60_000L);
+        jwtService = new JwtService(properties);
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("testuser");
+        user.setRole(Role.USER);
+    }
+
+    @Test
+    void testVerifyReturnsSubjectAndTimestamps() {
+        String token = jwtService.generateToken(user);
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertEquals("testuser", verified.getSubject());
+        assertNotNull(verified.getIssuedAt());
+        assertNotNull(verified.getExpiration());
+        assertTrue(verified.getExpiration().isAfter(verified.getIssuedAt()));
+        assertTrue(jwtService.isTokenValid(verified, user));
+    }
+
+    @Test
+    void testTokenCarriesUserIdRoleAndAuthorities() {
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(user));
+
+        assertEquals(7L, verified.getUserId());
+        assertEquals("USER", verified.getRole());
+        assertEquals("ROLE_USER", verified.getAuthorities().get(0).getAuthority());
+
+        VerifiedToken withExtras = jwtService.verify(jwtService.generateToken(java.util.Map.of("scope", "read"), user));
+        assertEquals(7L, withExtras.getUserId());
+        assertEquals("read", withExtras.getClaim("scope", String.class));
+    }
+
+    @Test
+    void testRevokedTokenIsRejected() {
+        String token = jwtService.generateToken(user);
+        String other = jwtService.generateToken(user);
+
+        assertTrue(jwtService.revoke(jwtService.verify(token)));
+
+        assertNull(jwtService.safeVerify(token));
+        assertNotNull(jwtService.safeVerify(other));
+        assertNotNull(jwtService.verify(other).getId());
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertNull(jwtService.safeVerify(tampered));
+        assertFalse(jwtService.isTokenValid(tampered, user));
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(-1_000L);
+        JwtService expiredService = new JwtService(properties);
+
+        String token = expiredService.generateToken(user);
+
+        assertNull(jwtService.safeVerify(token));
+    }
+
+    @Test
+    void testTokenForOtherUserIsNotValid() {
+        String token = jwtService.generateToken(user);
+        User other = new User();
+        other.setUsername("someoneelse");
+
+        assertFalse(jwtService.isTokenValid(token, other));
+    }
+
+    @Test
+    void testTokenOfDisabledUserIsNotValid() {
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(user));
+        user.setEnabled(false);
+
+        assertFalse(jwtService.isTokenValid(verified, user));
+    }
+
+    @Test
+    void testMalformedTokenIsRejected() {
+        assertNull(jwtService.safeVerify("not-a-jwt"));
+        assertNull(jwtService.safeVerify(null));
+        assertNull(jwtService.safeExtractUsername(""));
+    }
+
+    @Test
+    void testEs256TokensCarryKidPublishedInJwks() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(60_000L);
+        properties.getSigning().setAlgorithm("ES256");
+        JwtService es256Service = new JwtService(properties);
+
+        String token = es256Service.generateToken(user);
+        String header = new String(java.util.Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+
+        assertTrue(header.contains("\"ES256\""));
+        assertEquals("testuser", es256Service.verify(token).getSubject());
+        String kid = header.replaceAll(".*\"kid\":\"([^\"]+)\".*", "$1");
+        assertTrue(es256Service.getJwksJson().contains(kid));
+        // HMAC tokens issued before the switch stay valid while the secret is configured
+        assertEquals("testuser", es256Service.verify(jwtService.generateToken(user)).getSubject());
+    }
+
+    @Test
+    void testEdDsaRoundTrip() {
+        JwtProperties properties = new JwtProperties();
+        properties.setExpiration(60_000L);
+        properties.getSigning().setAlgorithm("EdDSA");
+        JwtService edDsaService = new JwtService(properties);
+
+        String token = edDsaService.generateToken(user);
+
+        assertEquals("testuser", edDsaService.verify(token).getSubject());
+        assertNull(edDsaService.safeVerify(jwtService.generateToken(user)));
+    }
+
+    @Test
+    void testKeyringRotationKeepsOutstandingTokensValid() {
+        String oldSecret = SECRET;
+        String newSecret = "6B5970404E635266556A586E3272357538782F413F4428472B4B625064536756";
+
+        JwtProperties before = new JwtProperties();
+        before.setExpiration(60_000L);
+        before.getKeys().add(hmacKey("k1", oldSecret, null));
+        before.setActiveKeyId("k1");
+        String oldToken = new JwtService(before).generateToken(user);
+
+        JwtProperties after = new JwtProperties();
+        after.setExpiration(60_000L);
+        after.getKeys().add(hmacKey("k1", oldSecret, Instant.now()));
+        after.getKeys().add(hmacKey("k2", newSecret, null));
+        after.setActiveKeyId("k2");
+        JwtService rotated = new JwtService(after);
+        String newToken = rotated.generateToken(user);
+
+        assertEquals("testuser", rotated.verify(oldToken).getSubject());
+        assertEquals("testuser", rotated.verify(newToken).getSubject());
+        assertNull(new JwtService(before).safeVerify(newToken));
+    }
+
+    @Test
+    void testDrainedKeyIsRejected() {
+        JwtProperties before = new JwtProperties();
+        before.setExpiration(60_000L);
+        before.getKeys().add(hmacKey("k1", SECRET, null));
+        before.setActiveKeyId("k1");
+        String oldToken = new JwtService(before).generateToken(user);
+
+        JwtProperties after = new JwtProperties();
+        after.setExpiration(60_000L);
+        after.getKeys().add(hmacKey("k1", SECRET, Instant.now().minusSeconds(120)));
+        after.getKeys().add(hmacKey("k2", SECRET.substring(32) + SECRET.substring(0, 32), null));
+        after.setActiveKeyId("k2");
+
+        assertNull(new JwtService(after).safeVerify(oldToken));
+    }
+
+    private static JwtProperties.HmacKey hmacKey(String id, String secret, Instant retiredAt) {
+        JwtProperties.HmacKey key = new JwtProperties.HmacKey();
+        key.setId(id);
+        key.setSecret(secret);
+        key.setRetiredAt(retiredAt);
+        return key;
+    }
+}
@@ -0,0 +1,138 @@
+package com.microservices.authservice.security;
+
+import com.microservices.authservice.config.ThrottleProperties;
+import com.microservices.authservice.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private ThrottleProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ThrottleProperties();
+        properties.setUsernameCapacity(3);
+        properties.setUsernameRefillMillis(1000);
+        properties.setIpCapacity(100);
+        properties.setLockoutThreshold(2);
+        properties.setLockoutBaseMillis(1000);
+        properties.setLockoutMaxMillis(4000);
+    }
+
+    @Test
+    void testUsernameBucketAllowsBurstThenRefills() {
+        LoginThrottle throttle = throttle();
+
+        for (int i = 0; i < 3; i++) {
+            throttle.checkLogin("alice", "10.0.0.1");
+        }
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkLogin("ALICE", "10.0.0.2"));
+        assertEquals(1, ex.getRetryAfterSeconds());
+
+        advance(1000);
+        throttle.checkLogin("alice", "10.0.0.1");
+        throttle.checkLogin("bob", "10.0.0.1");
+    }
+
+    @Test
+    void testIpBucketIsSharedAcrossUsernames() {
+        properties.setIpCapacity(2);
+        LoginThrottle throttle = throttle();
+
+        throttle.checkLogin("a1", "10.0.0.1");
+        throttle.checkRegistration("10.0.0.1");
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.checkLogin("a2", "10.0.0.1"));
+        throttle.checkLogin("a2", "10.0.0.2");
+    }
+
+    @Test
+    void testLockoutGrowsWithConsecutiveFailuresAndResetsOnSuccess() {
+        properties.setUsernameCapacity(100);
+        LoginThrottle throttle = throttle();
+
+        throttle.loginFailed("alice");
+        throttle.checkLogin("alice", "ip");
+        throttle.loginFailed("alice");
+        assertEquals(1, assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkLogin("alice", "ip")).getRetryAfterSeconds());
+
+        advance(1000);
+        throttle.loginFailed("alice");
+        assertEquals(2, assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkLogin("alice", "ip")).getRetryAfterSeconds());
+
+        advance(2000);
+        throttle.loginFailed("alice");
+        throttle.loginFailed("alice");
+        assertEquals(4, assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkLogin("alice", "ip")).getRetryAfterSeconds());
+
+        advance(4000);
+        throttle.loginSucceeded("alice");
+        throttle.loginFailed("alice");
+        throttle.checkLogin("alice", "ip");
+    }
+
+    @Test
+    void testIdleEntriesAreEvictedWhenFull() {
+        RateLimiter limiter = new RateLimiter(1, 1000, Integer.MAX_VALUE, 0, 0, 10,
+                TimeUnit.SECONDS.toNanos(1), clock::get);
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("k" + i);
+        }
+        advance(2000);
+
+        limiter.acquire("new");
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void testNewKeysShareAnOverflowBucketWhileEveryKeyIsLocked() {
+        RateLimiter limiter = new RateLimiter(1, TimeUnit.SECONDS.toNanos(1), 1, TimeUnit.SECONDS.toNanos(10),
+                TimeUnit.SECONDS.toNanos(10), 10, TimeUnit.SECONDS.toNanos(1), clock::get);
+        for (int i = 0; i < 10; i++) {
+            limiter.failure("k" + i);
+        }
+
+        assertEquals(0, limiter.acquire("new1"));
+        assertTrue(limiter.acquire("new2") > 0);
+        limiter.failure("new3");
+
+        assertEquals(10, limiter.size());
+        assertEquals(0, limiter.lockedFor("new3"));
+
+        advance(11_000);
+        limiter.acquire("later");
+
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void testDisabledThrottleAllowsEverything() {
+        properties.setEnabled(false);
+        properties.setUsernameCapacity(1);
+        LoginThrottle throttle = throttle();
+
+        throttle.checkLogin("alice", "ip");
+        throttle.checkLogin("alice", "ip");
+    }
+
+    private LoginThrottle throttle() {
+        return new LoginThrottle(properties, new SimpleMeterRegistry(), clock::get);
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
@@ -0,0 +1,66 @@
+package com.microservices.authservice.security;
+
+import com.microservices.authservice.config.PasswordHashingProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderFactoryTest {
+
+    @Test
+    void testNewHashesCarryAlgorithmIdAndLegacyHashesStillMatch() {
+        PasswordEncoder encoder = PasswordEncoderFactory.create(bcrypt(5));
+        String legacy = new BCryptPasswordEncoder(5).encode("Password1!");
+
+        String encoded = encoder.encode("Password1!");
+
+        assertTrue(encoded.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("Password1!", encoded));
+        assertFalse(encoder.upgradeEncoding(encoded));
+        assertTrue(encoder.matches("Password1!", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void testLowerCostHashNeedsUpgrade() {
+        String weak = PasswordEncoderFactory.create(bcrypt(4)).encode("Password1!");
+        PasswordEncoder stronger = PasswordEncoderFactory.create(bcrypt(5));
+
+        assertTrue(stronger.matches("Password1!", weak));
+        assertTrue(stronger.upgradeEncoding(weak));
+    }
+
+    @Test
+    void testArgon2UpgradesBCryptHashes() {
+        String bcryptHash = PasswordEncoderFactory.create(bcrypt(4)).encode("Password1!");
+        PasswordHashingProperties properties = bcrypt(4);
+        properties.setAlgorithm("argon2");
+        properties.getArgon2().setMemory(1024);
+        properties.getArgon2().setIterations(1);
+        PasswordEncoder argon2 = PasswordEncoderFactory.create(properties);
+
+        String encoded = argon2.encode("Password1!");
+
+        assertTrue(encoded.startsWith("{argon2}$argon2id$"));
+        assertTrue(argon2.matches("Password1!", encoded));
+        assertTrue(argon2.matches("Password1!", bcryptHash));
+        assertTrue(argon2.upgradeEncoding(bcryptHash));
+    }
+
+    @Test
+    void testCalibratedCostStaysWithinBounds() {
+        int cost = PasswordEncoderFactory.calibrateBCryptCost(0, 6, 9);
+        assertEquals(6, cost);
+
+        cost = PasswordEncoderFactory.calibrateBCryptCost(Long.MAX_VALUE / 4, 6, 9);
+        assertEquals(9, cost);
+    }
+
+    private static PasswordHashingProperties bcrypt(int cost) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.getBcrypt().setCost(cost);
+        return properties;
+    }
+}
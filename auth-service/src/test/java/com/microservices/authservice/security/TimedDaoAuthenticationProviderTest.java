@@ -0,0 +1,57 @@
+package com.microservices.authservice.security;
+
+import com.microservices.authservice.entity.Role;
+import com.microservices.authservice.entity.User;
+import com.microservices.authservice.service.LoginMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedDaoAuthenticationProviderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private TimedDaoAuthenticationProvider provider;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(7L);
+        user.setUsername("testuser");
+        user.setPassword("Password1!");
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+
+        provider = new TimedDaoAuthenticationProvider(new LoginMetrics(registry));
+        provider.setUserDetailsService(username -> user);
+        provider.setPasswordEncoder(NoOpPasswordEncoder.getInstance());
+    }
+
+    @Test
+    void testPrincipalIsTheLoadedUserAndStagesAreTimed() {
+        Authentication authentication = provider.authenticate(
+                new UsernamePasswordAuthenticationToken("testuser", "Password1!"));
+
+        assertSame(user, authentication.getPrincipal());
+        assertEquals(1, stageCount("lookup"));
+        assertEquals(1, stageCount("verify"));
+    }
+
+    @Test
+    void testFailedPasswordCheckIsStillTimed() {
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(
+                new UsernamePasswordAuthenticationToken("testuser", "wrong")));
+
+        assertEquals(1, stageCount("verify"));
+    }
+
+    private long stageCount(String stage) {
+        return registry.get("login.stage").tag("stage", stage).timer().count();
+    }
+}
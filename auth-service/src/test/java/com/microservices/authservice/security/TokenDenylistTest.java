@@ -0,0 +1,83 @@
+package com.microservices.authservice.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenDenylistTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @Test
+    void testContainsOnlyAddedIds() {
+        TokenDenylist denylist = new TokenDenylist();
+        assertFalse(denylist.contains(1L, 2L, NOW));
+
+        denylist.add(1L, 2L, NOW + 1000, NOW);
+
+        assertTrue(denylist.contains(1L, 2L, NOW));
+        assertFalse(denylist.contains(2L, 1L, NOW));
+        assertEquals(1, denylist.size());
+    }
+
+    @Test
+    void testExpiredEntriesNoLongerMatchAndArePurged() {
+        TokenDenylist denylist = new TokenDenylist();
+        denylist.add(1L, 2L, NOW + 1000, NOW);
+        denylist.add(3L, 4L, NOW + 5000, NOW);
+
+        assertFalse(denylist.contains(1L, 2L, NOW + 1000));
+        assertTrue(denylist.contains(3L, 4L, NOW + 1000));
+
+        denylist.purgeExpired(NOW + 1000);
+        assertEquals(1, denylist.size());
+    }
+
+    @Test
+    void testGrowsAndDropsExpiredOnRebuild() {
+        TokenDenylist denylist = new TokenDenylist();
+        for (long i = 0; i < 10_000; i++) {
+            denylist.add(i, ~i, NOW + (i < 5_000 ? 10 : 100_000), NOW);
+        }
+        for (long i = 5_000; i < 10_000; i++) {
+            assertTrue(denylist.contains(i, ~i, NOW + 20));
+        }
+
+        denylist.add(-1L, -1L, NOW + 100_000, NOW + 20);
+        denylist.purgeExpired(NOW + 20);
+        assertEquals(5_001, denylist.size());
+    }
+
+    @Test
+    void testBecomesEmptyAgainOnceEveryEntryHasExpired() {
+        TokenDenylist denylist = new TokenDenylist();
+        denylist.add(1L, 2L, NOW + 1000, NOW);
+        denylist.add(3L, 4L, NOW + 3000, NOW);
+
+        assertFalse(denylist.contains(5L, 6L, NOW + 1000));
+        assertEquals(1, denylist.size());
+
+        // The next purge is due when the remaining entry expires
+        assertFalse(denylist.contains(5L, 6L, NOW + 1500));
+        assertEquals(1, denylist.size());
+        assertFalse(denylist.contains(5L, 6L, NOW + 3000));
+        assertTrue(denylist.isEmpty());
+    }
+
+    @Test
+    void testAddPurgesExpiredEntries() {
+        TokenDenylist denylist = new TokenDenylist();
+        denylist.add(1L, 2L, NOW + 1000, NOW);
+
+        denylist.add(3L, 4L, NOW + 5000, NOW + 1000);
+
+        assertEquals(1, denylist.size());
+    }
+
+    @Test
+    void testAlreadyExpiredTokensAreNotStored() {
+        TokenDenylist denylist = new TokenDenylist();
+        denylist.add(1L, 2L, NOW, NOW);
+        assertTrue(denylist.isEmpty());
+    }
+}
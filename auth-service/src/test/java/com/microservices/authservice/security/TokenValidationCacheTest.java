@@ -0,0 +1,82 @@
+package com.microservices.authservice.security;
+
+import com.microservices.authservice.config.JwtProperties;
+import com.microservices.authservice.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenValidationCacheTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtProperties properties;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(60_000L);
+        jwtService = new JwtService(properties);
+    }
+
+    private String tokenFor(String username) {
+        User user = new User();
+        user.setUsername(username);
+        return jwtService.generateToken(user);
+    }
+
+    @Test
+    void testHitAfterPut() {
+        TokenValidationCache cache = new TokenValidationCache(properties);
+        String token = tokenFor("alice");
+
+        assertNull(cache.get(token));
+        cache.put(token, jwtService.verify(token));
+
+        assertEquals("alice", cache.get(token).getSubject());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testInvalidateUserDropsEntries() {
+        TokenValidationCache cache = new TokenValidationCache(properties);
+        String alice = tokenFor("alice");
+        String bob = tokenFor("bob");
+        cache.put(alice, jwtService.verify(alice));
+        cache.put(bob, jwtService.verify(bob));
+
+        assertEquals(1, cache.invalidateUser("alice"));
+
+        assertNull(cache.get(alice));
+        assertNotNull(cache.get(bob));
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        properties.getCache().setMaxSize(10);
+        TokenValidationCache cache = new TokenValidationCache(properties);
+
+        for (int i = 0; i < 50; i++) {
+            String token = tokenFor("user" + i);
+            cache.put(token, jwtService.verify(token));
+        }
+
+        assertTrue(cache.size() <= 10);
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    @Test
+    void testDisabledCacheNeverHits() {
+        properties.getCache().setEnabled(false);
+        TokenValidationCache cache = new TokenValidationCache(properties);
+        String token = tokenFor("alice");
+
+        cache.put(token, jwtService.verify(token));
+
+        assertNull(cache.get(token));
+    }
+}
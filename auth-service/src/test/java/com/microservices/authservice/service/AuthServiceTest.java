@@ -0,0 +1,165 @@
+package com.microservices.authservice.service;
+
+import com.microservices.authservice.config.JwtProperties;
+import com.microservices.authservice.dto.RegisterRequest;
+import com.microservices.authservice.entity.Role;
+import com.microservices.authservice.entity.User;
+import com.microservices.authservice.exception.BadRequestException;
+import com.microservices.authservice.repository.UserRepository;
+import com.microservices.authservice.security.JwtService;
+import com.microservices.authservice.security.TokenValidationCache;
+import com.microservices.authservice.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class AuthServiceTest {
+
+    private UserRepository userRepository;
+    private JwtProperties properties;
+    private JwtService jwtService;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        properties = new JwtProperties();
+        properties.setSecret("404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        properties.setExpiration(60_000L);
+        jwtService = new JwtService(properties);
+        authService = new AuthService(
+                userRepository,
+                NoOpPasswordEncoder.getInstance(),
+                jwtService,
+                mock(AuthenticationManager.class),
+                mock(TokenValidationCache.class),
+                mock(RefreshTokenService.class),
+                new LoginMetrics(new SimpleMeterRegistry())
+        );
+    }
+
+    @Test
+    void testRegisterIsASingleInsert() {
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertEquals("testuser", authService.register(request()).getUsername());
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, never()).existsByEmail(any());
+    }
+
+    @Test
+    void testDuplicateUsernameMapsToBadRequest() {
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violation("users.uk_users_username"));
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> authService.register(request()));
+        assertEquals("Username already exists", ex.getMessage());
+    }
+
+    @Test
+    void testDuplicateEmailMapsToBadRequest() {
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violation("uk_users_email"));
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> authService.register(request()));
+        assertEquals("Email already exists", ex.getMessage());
+    }
+
+    @Test
+    void testUnknownConstraintFallsBackToLookups() {
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violation("UK_r43af9ap4edm43mmtq01oddj6"));
+        when(userRepository.existsByUsername("testuser")).thenReturn(false);
+        when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> authService.register(request()));
+        assertEquals("Email already exists", ex.getMessage());
+    }
+
+    @Test
+    void testBatchValidationLoadsDistinctUsersOnce() {
+        User alice = user(1L, "alice");
+        User bob = user(2L, "bob");
+        String aliceToken = jwtService.generateToken(alice);
+        String bobToken = jwtService.generateToken(bob);
+        when(userRepository.findByUsernameIn(anyCollection())).thenReturn(List.of(alice, bob));
+
+        List<VerifiedToken> results = authService.validateTokens(
+                Arrays.asList(aliceToken, "not-a-jwt", bobToken, aliceToken, null));
+
+        assertEquals("alice", results.get(0).getSubject());
+        assertNull(results.get(1));
+        assertEquals("bob", results.get(2).getSubject());
+        assertEquals("alice", results.get(3).getSubject());
+        assertNull(results.get(4));
+        verify(userRepository).findByUsernameIn(Set.of("alice", "bob"));
+        verify(userRepository, never()).findByUsername(any());
+    }
+
+    @Test
+    void testBatchValidationRejectsTokensOfDeletedUsers() {
+        String token = jwtService.generateToken(user(1L, "alice"));
+        when(userRepository.findByUsernameIn(anyCollection())).thenReturn(List.of());
+
+        assertNull(authService.validateTokens(List.of(token)).get(0));
+    }
+
+    @Test
+    void testPurgedValidationLooksTheUserUpAgain() {
+        AuthService cached = new AuthService(
+                userRepository,
+                NoOpPasswordEncoder.getInstance(),
+                jwtService,
+                mock(AuthenticationManager.class),
+                new TokenValidationCache(properties),
+                mock(RefreshTokenService.class),
+                new LoginMetrics(new SimpleMeterRegistry())
+        );
+        User alice = user(1L, "alice");
+        String token = jwtService.generateToken(alice);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        assertNotNull(cached.validateToken(token));
+
+        // Deactivated by Admin Service: the hit is still served until the cache is purged
+        alice.setEnabled(false);
+        assertNotNull(cached.validateToken(token));
+        verify(userRepository, times(1)).findByUsername("alice");
+
+        assertEquals(1, cached.invalidateValidations("alice"));
+        assertNull(cached.validateToken(token));
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("Duplicate entry", new SQLException(), constraintName));
+    }
+
+    private static RegisterRequest request() {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("testuser");
+        request.setEmail("test@example.com");
+        request.setPassword("Password1!");
+        return request;
+    }
+}
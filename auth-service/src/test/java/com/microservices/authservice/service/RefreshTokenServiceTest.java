@@ -0,0 +1,106 @@
+package com.microservices.authservice.service;
+
+import com.microservices.authservice.config.JwtProperties;
+import com.microservices.authservice.entity.RefreshToken;
+import com.microservices.authservice.entity.Role;
+import com.microservices.authservice.entity.User;
+import com.microservices.authservice.exception.UnauthorizedException;
+import com.microservices.authservice.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private RefreshTokenRepository repository;
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RefreshTokenRepository.class);
+        when(repository.save(any(RefreshToken.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        refreshTokenService = new RefreshTokenService(repository, new JwtProperties());
+
+        user = new User();
+        user.setId(7L);
+        user.setUsername("testuser");
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+    }
+
+    @Test
+    void testIssueStoresOnlyTheHash() {
+        String raw = refreshTokenService.issue(user);
+
+        RefreshToken stored = captureSaved();
+        assertNotEquals(raw, stored.getTokenHash());
+        assertEquals(RefreshTokenService.hash(raw), stored.getTokenHash());
+        assertNotNull(stored.getFamilyId());
+        assertTrue(stored.getExpiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void testRotateIssuesNewTokenInSameFamily() {
+        String raw = refreshTokenService.issue(user);
+        RefreshToken stored = captureSaved();
+        stored.setId(1L);
+        when(repository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(repository.markUsed(eq(1L), any(Instant.class))).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(raw);
+
+        assertSame(user, rotation.getUser());
+        assertNotEquals(raw, rotation.getRefreshToken());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository, times(2)).save(saved.capture());
+        assertEquals(stored.getFamilyId(), saved.getAllValues().get(1).getFamilyId());
+        verify(repository, never()).revokeFamily(any());
+    }
+
+    @Test
+    void testReusedTokenRevokesFamily() {
+        String raw = refreshTokenService.issue(user);
+        RefreshToken stored = captureSaved();
+        stored.setId(1L);
+        stored.setUsedAt(Instant.now());
+        when(repository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(raw));
+        verify(repository).revokeFamily(stored.getFamilyId());
+    }
+
+    @Test
+    void testConcurrentRefreshLosesRaceAndRevokesFamily() {
+        String raw = refreshTokenService.issue(user);
+        RefreshToken stored = captureSaved();
+        stored.setId(1L);
+        when(repository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(repository.markUsed(anyLong(), any(Instant.class))).thenReturn(0);
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(raw));
+        verify(repository).revokeFamily(stored.getFamilyId());
+    }
+
+    @Test
+    void testUnknownTokenIsRejected() {
+        when(repository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("unknown"));
+    }
+
+    private RefreshToken captureSaved() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,160 @@
+package com.microservices.authservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.authservice.config.UserImportProperties;
+import com.microservices.authservice.exception.BadRequestException;
+import com.microservices.authservice.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UserRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        UserImportProperties properties = new UserImportProperties();
+        properties.setBatchSize(2);
+        properties.setHashThreads(2);
+        importService = new UserImportService(userRepository, jdbcTemplate, transactionManager,
+                NoOpPasswordEncoder.getInstance(), Validation.buildDefaultValidatorFactory().getValidator(),
+                objectMapper, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.destroy();
+    }
+
+    @Test
+    void testCsvImportReportsEveryRow() throws Exception {
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("TAKEN"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        String csv = """
+                username,email,password
+                alice,alice@example.com,"Pass,word1!"
+                bob,bob@example.com,weak
+                Alice,alice2@example.com,Password1!
+                taken,taken@example.com,Password1!
+                "carol",carol@example.com,Password1!
+                """;
+
+        List<JsonNode> report = runImport(csv, UserImportReader.Format.CSV);
+
+        assertEquals("created", report.get(0).get("status").asText());
+        assertEquals(2, report.get(0).get("line").asInt());
+        assertEquals("failed", report.get(1).get("status").asText());
+        assertEquals("Password must be at least 8 characters long", report.get(1).get("message").asText());
+        assertEquals("created", report.get(2).get("status").asText());
+        assertEquals("Username already exists", report.get(3).get("message").asText());
+        assertEquals("created", report.get(4).get("status").asText());
+        assertEquals(3, report.get(5).get("created").asInt());
+        assertEquals(2, report.get(5).get("failed").asInt());
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testDuplicatesWithinABatchAreRejected() throws Exception {
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        String ndjson = """
+                {"username":"dave","email":"dave@example.com","password":"Password1!"}
+                {"username":"DAVE","email":"dave2@example.com","password":"Password1!"}
+                not json
+                """;
+
+        List<JsonNode> report = runImport(ndjson, UserImportReader.Format.NDJSON);
+
+        assertEquals("created", report.get(0).get("status").asText());
+        assertEquals("Username already exists", report.get(1).get("message").asText());
+        assertEquals("Malformed row", report.get(2).get("message").asText());
+    }
+
+    @Test
+    void testRowByRowRetryNamesOnlyUniqueKeyViolations() throws Exception {
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("batch failed"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            String username = invocation.getArgument(1);
+            return switch (username) {
+                case "frank" -> throw new DataIntegrityViolationException(
+                        "Data too long for column 'role' at row 1");
+                case "gina" -> throw new DuplicateKeyException(
+                        "Duplicate entry 'gina@example.com' for key 'users.uk_users_email'");
+                case "hank" -> throw new DuplicateKeyException(
+                        "Duplicate entry 'hank' for key 'users.uk_users_username'");
+                default -> 1;
+            };
+        });
+        String ndjson = """
+                {"username":"erin","email":"erin@example.com","password":"Password1!"}
+                {"username":"frank","email":"frank@example.com","password":"Password1!"}
+                {"username":"gina","email":"gina@example.com","password":"Password1!"}
+                {"username":"hank","email":"hank@example.com","password":"Password1!"}
+                """;
+
+        List<JsonNode> report = runImport(ndjson, UserImportReader.Format.NDJSON);
+
+        assertEquals("created", report.get(0).get("status").asText());
+        assertEquals("Could not insert user", report.get(1).get("message").asText());
+        assertEquals("Email already exists", report.get(2).get("message").asText());
+        assertEquals("Username already exists", report.get(3).get("message").asText());
+    }
+
+    @Test
+    void testCsvWithoutRequiredColumnsIsRejectedUpFront() {
+        assertThrows(BadRequestException.class, () -> importService.open(
+                new ByteArrayInputStream("name,mail\n".getBytes(StandardCharsets.UTF_8)),
+                UserImportReader.Format.CSV));
+    }
+
+    @Test
+    void testCsvLineParsing() {
+        assertEquals(List.of("a", "b,c", "d\"e", ""), UserImportReader.parseCsvLine("a,\"b,c\",\"d\"\"e\","));
+        assertNull(UserImportReader.parseCsvLine("a,\"unterminated"));
+    }
+
+    private List<JsonNode> runImport(String input, UserImportReader.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UserImportReader reader = importService.open(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format);
+        importService.importUsers(reader, out);
+        return out.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+}
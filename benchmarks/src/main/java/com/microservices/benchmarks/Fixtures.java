@@ -0,0 +1,69 @@
+package com.microservices.benchmarks;
+
+import java.lang.reflect.Proxy;
+
+import com.microservices.authservice.config.JwtProperties;
+import com.microservices.authservice.entity.Role;
+import com.microservices.authservice.entity.User;
+import com.microservices.authservice.security.JwtService;
+
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Shared setup for the benchmark suites.
+ */
+final class Fixtures {
+
+    static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    static final User USER = user();
+
+    private Fixtures() {
+        // Utility class
+    }
+
+    static JwtProperties jwtProperties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(86_400_000L);
+        return properties;
+    }
+
+    static JwtService jwtService() {
+        return new JwtService(jwtProperties());
+    }
+
+    static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark.user");
+        user.setEmail("benchmark@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuWl2iY1u8z1w6ZQd7I6n1oC6t0T1sV2K");
+        user.setRole(Role.USER);
+        user.setEnabled(true);
+        return user;
+    }
+
+    /**
+     * A do-nothing validator context: every call returns either null or
+     * another no-op proxy, so the violation-builder chain can be followed.
+     */
+    static ConstraintValidatorContext noOpValidatorContext() {
+        return noOp(ConstraintValidatorContext.class);
+    }
+
+    private static <T> T noOp(Class<T> type) {
+        Object proxy = Proxy.newProxyInstance(Fixtures.class.getClassLoader(), new Class<?>[] {type},
+                (self, method, args) -> {
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType.isInstance(self)) {
+                        return self;
+                    }
+                    if (returnType.isInterface()) {
+                        return noOp(returnType);
+                    }
+                    return returnType == boolean.class ? Boolean.FALSE : null;
+                });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,61 @@
+package com.microservices.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microservices.authservice.security.JwtService;
+import com.microservices.authservice.security.VerifiedToken;
+
+/**
+ * Token issuance (fast HMAC path and the generic JJWT path) and verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = Fixtures.jwtService();
+        validToken = jwtService.generateToken(Fixtures.user());
+        tamperedToken = validToken.substring(0, validToken.length() - 2) + "AA";
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(Fixtures.USER);
+    }
+
+    @Benchmark
+    public String generateTokenWithExtraClaims() {
+        return jwtService.generateToken(Map.of("scope", "read"), Fixtures.USER);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtService.verify(validToken);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyTampered() {
+        return jwtService.safeVerify(tamperedToken);
+    }
+}
@@ -0,0 +1,176 @@
+package com.microservices.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load generator for end-to-end runs against a live service,
+ * used to compare the platform-thread and virtual-thread request models
+ * ({@code spring.threads.virtual.enabled}). Each worker sends one request at a
+ * time; latencies recorded after the warm-up give throughput and percentiles.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.microservices.benchmarks.LoadTest \
+ *     url=http://localhost:8082/api/admin/users token=$TOKEN concurrency=400 duration=30
+ * </pre>
+ *
+ * Options (all {@code key=value}): {@code url} (required), {@code token}
+ * (sent as a bearer token), {@code body} (switches to a JSON POST),
+ * {@code concurrency} (default 200), {@code warmup} and {@code duration}
+ * in seconds (defaults 10 and 30).
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+        // Utility class
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parse(args);
+        if (!options.containsKey("url")) {
+            System.err.println("usage: LoadTest url=<url> [token=<jwt>] [body=<json>] "
+                    + "[concurrency=200] [warmup=10] [duration=30]");
+            System.exit(2);
+        }
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        long warmupNanos = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))).toNanos();
+        long durationNanos = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30"))).toNanos();
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = request(options);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        Recorder[] recorders = new Recorder[concurrency];
+        LongAdder errors = new LongAdder();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Recorder recorder = new Recorder();
+            recorders[i] = recorder;
+            Thread worker = new Thread(() -> {
+                try {
+                    run(client, request, measureFrom, end, recorder, errors);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+
+        report(recorders, errors.sum(), durationNanos);
+    }
+
+    private static void run(HttpClient client, HttpRequest request, long measureFrom, long end,
+                            Recorder recorder, LongAdder errors) {
+        while (true) {
+            long sent = System.nanoTime();
+            if (sent >= end) {
+                return;
+            }
+            boolean ok;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 400;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (sent >= measureFrom) {
+                if (ok) {
+                    recorder.add(System.nanoTime() - sent);
+                } else {
+                    errors.increment();
+                }
+            }
+        }
+    }
+
+    private static HttpRequest request(Map<String, String> options) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.get("url")))
+                .timeout(Duration.ofSeconds(30));
+        String token = options.get("token");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        String body = options.get("body");
+        if (body != null) {
+            builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+        return builder.build();
+    }
+
+    private static void report(Recorder[] recorders, long errors, long durationNanos) {
+        int total = 0;
+        for (Recorder recorder : recorders) {
+            total += recorder.size;
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (Recorder recorder : recorders) {
+            System.arraycopy(recorder.values, 0, latencies, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(latencies);
+
+        double seconds = durationNanos / 1e9;
+        System.out.printf("requests   %d (%d errors)%n", total, errors);
+        System.out.printf("throughput %.1f req/s%n", total / seconds);
+        System.out.printf("p50        %.2f ms%n", percentile(latencies, 0.50));
+        System.out.printf("p90        %.2f ms%n", percentile(latencies, 0.90));
+        System.out.printf("p99        %.2f ms%n", percentile(latencies, 0.99));
+        System.out.printf("max        %.2f ms%n", total == 0 ? 0.0 : latencies[total - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Per-worker latency log; only its own worker writes to it.
+     */
+    private static final class Recorder {
+        private long[] values = new long[1024];
+        private int size;
+
+        private void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+    }
+}
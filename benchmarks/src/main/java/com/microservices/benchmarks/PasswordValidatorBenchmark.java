@@ -0,0 +1,49 @@
+package com.microservices.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.microservices.authservice.validation.PasswordValidator;
+
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * {@link PasswordValidator#isValid} for a passing password and for the
+ * failure that is detected last (missing special character).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordValidatorBenchmark {
+
+    @Param({"Password123!", "Password123", "Sh0rt!"})
+    public String password;
+
+    private PasswordValidator validator;
+    private ConstraintValidatorContext context;
+
+    @Setup
+    public void setUp() {
+        validator = new PasswordValidator();
+        context = Fixtures.noOpValidatorContext();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return validator.isValid(password, context);
+    }
+}
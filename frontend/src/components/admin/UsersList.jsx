@@ -6,7 +6,9 @@ import './UsersList.css';
 
 const UsersList = () => {
   const [users, setUsers] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [searchTerm, setSearchTerm] = useState('');
 
   useEffect(() => {
@@ -16,8 +18,9 @@ const UsersList = () => {
   const fetchUsers = async () => {
     try {
       setLoading(true);
-      const data = await adminService.getAllUsers();
-      setUsers(data);
+      const page = await adminService.getUsers();
+      setUsers(page.users);
+      setNextCursor(page.nextCursor);
     } catch (error) {
       console.error('Error fetching users:', error);
       toast.error('Грешка при зареждане на потребители');
@@ -26,6 +29,20 @@ const UsersList = () => {
     }
   };
 
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const page = await adminService.getUsers({ cursor: nextCursor });
+      setUsers((loaded) => [...loaded, ...page.users]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      console.error('Error fetching users:', error);
+      toast.error('Грешка при зареждане на потребители');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleActivate = async (id) => {
     try {
       await adminService.activateUser(id);
@@ -76,7 +93,7 @@ const UsersList = () => {
     <div className="users-container">
       <div className="users-header">
         <h1>👥 Управление на потребители</h1>
-        <p>Общо: {users.length} потребители</p>
+        <p>Заредени: {users.length} потребители{nextCursor ? ' (има още)' : ''}</p>
       </div>
 
       <div className="search-box">
@@ -160,6 +177,14 @@ const UsersList = () => {
             <p>Няма намерени потребители</p>
           </div>
         )}
+
+        {nextCursor && (
+          <div className="load-more">
+            <button onClick={loadMore} className="btn-load-more" disabled={loadingMore}>
+              {loadingMore ? 'Зареждане...' : 'Зареди още'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -13,17 +13,15 @@ export const AuthProvider = ({ children }) => {
       const token = localStorage.getItem('token');
       if (token) {
         try {
-          const isValid = await authService.validateToken();
+          const isValid = await authService.validateToken() || await authService.refresh();
           if (isValid) {
             const userData = JSON.parse(localStorage.getItem('user'));
             setUser(userData);
           } else {
-            localStorage.removeItem('token');
-            localStorage.removeItem('user');
+            authService.logout();
           }
         } catch (error) {
-          localStorage.removeItem('token');
-          localStorage.removeItem('user');
+          authService.logout();
         }
       }
       setLoading(false);
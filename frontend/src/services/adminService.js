@@ -4,9 +4,11 @@ import authService from './authService';
 const ADMIN_API_URL = 'http://localhost:8082/api/admin';
 
 const adminService = {
-  getAllUsers: async () => {
+  // One page: { users, nextCursor, hasMore, size, sort, direction }
+  getUsers: async ({ cursor, size, sort, direction } = {}) => {
     const response = await axios.get(`${ADMIN_API_URL}/users`, {
-      headers: authService.authHeader()
+      headers: authService.authHeader(),
+      params: { cursor, size, sort, direction }
     });
     return response.data;
   },
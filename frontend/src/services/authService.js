@@ -2,6 +2,29 @@ import axios from 'axios';
 
 const AUTH_API_URL = 'http://localhost:8081/api/auth';
 
+const storeSession = (data) => {
+  if (data.token) {
+    localStorage.setItem('token', data.token);
+    if (data.refreshToken) {
+      localStorage.setItem('refreshToken', data.refreshToken);
+    }
+    localStorage.setItem('user', JSON.stringify({
+      username: data.username,
+      email: data.email,
+      role: data.role
+    }));
+  }
+};
+
+const clearSession = () => {
+  localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('user');
+};
+
+// Concurrent 401s share one refresh call; refresh tokens are single-use.
+let refreshPromise = null;
+
 const authService = {
   register: async (username, email, password) => {
     const response = await axios.post(`${AUTH_API_URL}/register`, {
@@ -10,14 +33,7 @@ const authService = {
       password
     });
     
-    if (response.data.token) {
-      localStorage.setItem('token', response.data.token);
-      localStorage.setItem('user', JSON.stringify({
-        username: response.data.username,
-        email: response.data.email,
-        role: response.data.role
-      }));
-    }
+    storeSession(response.data);
     
     return response.data;
   },
@@ -28,21 +44,39 @@ const authService = {
       password
     });
     
-    if (response.data.token) {
-      localStorage.setItem('token', response.data.token);
-      localStorage.setItem('user', JSON.stringify({
-        username: response.data.username,
-        email: response.data.email,
-        role: response.data.role
-      }));
-    }
+    storeSession(response.data);
     
     return response.data;
   },
 
   logout: () => {
-    localStorage.removeItem('token');
-    localStorage.removeItem('user');
+    const token = localStorage.getItem('token');
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (token) {
+      axios.post(`${AUTH_API_URL}/logout`, { token, refreshToken }).catch(() => {});
+    }
+    clearSession();
+  },
+
+  refresh: () => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) return Promise.resolve(false);
+
+    if (!refreshPromise) {
+      refreshPromise = axios.post(`${AUTH_API_URL}/refresh`, { refreshToken })
+        .then((response) => {
+          storeSession(response.data);
+          return true;
+        })
+        .catch(() => {
+          clearSession();
+          return false;
+        })
+        .finally(() => {
+          refreshPromise = null;
+        });
+    }
+    return refreshPromise;
   },
 
   validateToken: async () => {
@@ -65,4 +99,25 @@ const authService = {
   }
 };
 
+// Renew the access token once on 401 and replay the request.
+axios.interceptors.response.use(
+  (response) => response,
+  async (error) => {
+    const original = error.config;
+    if (
+      error.response?.status === 401 &&
+      original &&
+      !original._retried &&
+      !original.url.startsWith(AUTH_API_URL)
+    ) {
+      original._retried = true;
+      if (await authService.refresh()) {
+        original.headers = { ...original.headers, ...authService.authHeader() };
+        return axios(original);
+      }
+    }
+    return Promise.reject(error);
+  }
+);
+
 export default authService;